@@ -3,16 +3,22 @@ package ru.practicum.shareit.booking.controller;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.AddBookingRequest;
+import ru.practicum.shareit.booking.dto.BookingDecisionRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.service.BookingClient;
 
+import java.util.List;
+
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
@@ -24,55 +30,69 @@ public class BookingGatewayController {
     private final BookingClient client;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                         @RequestBody @Valid AddBookingRequest request) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                               @RequestBody @Valid AddBookingRequest request) {
         log.info(">> POST /bookings | userId = {}", userId);
-        ResponseEntity<Object> response = client.create(userId, request);
-        log.info("<< POST /bookings | userId = {} | status: {}", userId, response.getStatusCode());
-        return response;
+        return client.create(userId, request)
+                .doOnNext(response -> log.info("<< POST /bookings | userId = {} | status: {}", userId, response.getStatusCode()));
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(@PathVariable @Positive Long bookingId,
-                                          @RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                          @RequestParam @NotNull boolean approved) {
+    public Mono<ResponseEntity<Object>> approve(@PathVariable @Positive Long bookingId,
+                                                @RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                                @RequestParam @NotNull boolean approved) {
         log.info(">> PATCH /bookings/{}?approved={} | userId = {}", bookingId, approved, userId);
-        ResponseEntity<Object> response = client.approve(bookingId, userId, approved);
-        log.info("<< PATCH /bookings/{}?approved={} | userId = {} | status: {}", bookingId, approved, userId, response.getStatusCode());
-        return response;
+        return client.approve(bookingId, userId, approved)
+                .doOnNext(response -> log.info("<< PATCH /bookings/{}?approved={} | userId = {} | status: {}", bookingId, approved, userId, response.getStatusCode()));
+    }
+
+    @PatchMapping("/approve")
+    public Mono<ResponseEntity<Object>> approveAll(@RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                                   @RequestBody List<@NotNull @Valid BookingDecisionRequest> decisions) {
+        log.info(">> PATCH /bookings/approve | userId = {} | decisions = {}", userId, decisions.size());
+        return client.approveAll(userId, decisions)
+                .doOnNext(response -> log.info("<< PATCH /bookings/approve | userId = {} | status: {}", userId, response.getStatusCode()));
+    }
+
+    @PatchMapping("/{bookingId}/cancel")
+    public Mono<ResponseEntity<Object>> cancel(@PathVariable @Positive Long bookingId,
+                                               @RequestHeader(HEADER_USER_ID) @Positive long userId) {
+        log.info(">> PATCH /bookings/{}/cancel | userId = {}", bookingId, userId);
+        return client.cancel(bookingId, userId)
+                .doOnNext(response -> log.info("<< PATCH /bookings/{}/cancel | userId = {} | status: {}", bookingId, userId, response.getStatusCode()));
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> get(@PathVariable @Positive Long bookingId,
-                                      @RequestHeader(HEADER_USER_ID) @Positive long userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable @Positive Long bookingId,
+                                            @RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info(">> GET /bookings/{} | userId = {} ", bookingId, userId);
-        ResponseEntity<Object> response = client.get(bookingId, userId);
-        log.info("<< GET /bookings/{} | userId = {} | status: {}", bookingId, userId, response.getStatusCode());
-        return response;
+        return client.get(bookingId, userId, ifNoneMatch)
+                .doOnNext(response -> log.info("<< GET /bookings/{} | userId = {} | status: {}", bookingId, userId, response.getStatusCode()));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getByUser(@RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                            @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                            @RequestParam(defaultValue = "0") int from,
-                                            @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getByUser(@RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                                  @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                  @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                  @RequestParam(defaultValue = "10") @Positive int size,
+                                                  @RequestParam(required = false) String cursor) {
         log.info(">> GET /bookings?state={} | userId = {} ", stateParam, userId);
         BookingState state = parseState(stateParam);
-        ResponseEntity<Object> response = client.getByUser(userId, state, from, size);
-        log.info("<< GET /bookings?state={} | userId = {} | status: {}", state, userId, response.getStatusCode());
-        return response;
+        return client.getByUser(userId, state, from, size, cursor)
+                .doOnNext(response -> log.info("<< GET /bookings?state={} | userId = {} | status: {}", state, userId, response.getStatusCode()));
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getByOwner(@RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                             @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                             @RequestParam(defaultValue = "0") int from,
-                                             @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getByOwner(@RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                                   @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                   @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                   @RequestParam(defaultValue = "10") @Positive int size,
+                                                   @RequestParam(required = false) String cursor) {
         log.info(">> GET /bookings/owner?state={} | userId = {} ", stateParam, userId);
         BookingState state = parseState(stateParam);
-        ResponseEntity<Object> response = client.getByOwner(userId, state, from, size);
-        log.info("<< GET /bookings/owner?state={} | userId = {} | status: {}", state.name(), userId, response.getStatusCode());
-        return response;
+        return client.getByOwner(userId, state, from, size, cursor)
+                .doOnNext(response -> log.info("<< GET /bookings/owner?state={} | userId = {} | status: {}", state.name(), userId, response.getStatusCode()));
     }
 
     private BookingState parseState(String stateParam) {
@@ -3,7 +3,7 @@ package ru.practicum.shareit.booking.dto;
 import java.util.Optional;
 
 public enum BookingState {
-    ALL, CURRENT, FUTURE, PAST, REJECTED, WAITING;
+    ALL, CURRENT, FUTURE, PAST, REJECTED, CANCELED, WAITING;
 
     public static Optional<BookingState> from(String stringState) {
         for (BookingState state : values()) {
@@ -2,61 +2,79 @@ package ru.practicum.shareit.booking.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.AddBookingRequest;
+import ru.practicum.shareit.booking.dto.BookingDecisionRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.UpstreamExchangeFactory;
+import ru.practicum.shareit.client.UpstreamGuard;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static ru.practicum.shareit.client.GatewayResponseCache.ITEMS;
+
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private final GatewayResponseCache responseCache;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, UpstreamExchangeFactory exchanges,
+                         RequestCoalescer coalescer, UpstreamGuard guard, GatewayResponseCache responseCache) {
         super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                exchanges.create(serverUrl + API_PREFIX),
+                API_PREFIX,
+                coalescer,
+                guard
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> create(long userId, AddBookingRequest request) {
+    public Mono<ResponseEntity<Object>> create(long userId, AddBookingRequest request) {
         return post("", userId, request);
     }
 
-    public ResponseEntity<Object> approve(Long bookingId, long userId, boolean approved) {
+    public Mono<ResponseEntity<Object>> approve(Long bookingId, long userId, boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        return responseCache.evictAfter(patch("/" + bookingId + "?approved={approved}", userId, parameters, null), ITEMS);
     }
 
-    public ResponseEntity<Object> get(Long bookingId, long userId) {
-        return get("/" + bookingId, userId);
+    public Mono<ResponseEntity<Object>> approveAll(long userId, List<BookingDecisionRequest> decisions) {
+        return responseCache.evictAfter(patch("/approve", userId, decisions), ITEMS);
     }
 
-    public ResponseEntity<Object> getByUser(long userId, BookingState state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> cancel(Long bookingId, long userId) {
+        return responseCache.evictAfter(patch("/" + bookingId + "/cancel", userId), ITEMS);
+    }
+
+    public Mono<ResponseEntity<Object>> get(Long bookingId, long userId, String ifNoneMatch) {
+        return getIfNoneMatch("/" + bookingId, userId, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Object>> getByUser(long userId, BookingState state, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?state={state}&from={from}&size={size}", parameters, cursor), userId, parameters);
     }
 
-    public ResponseEntity<Object> getByOwner(long userId, BookingState state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getByOwner(long userId, BookingState state, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("/owner?state={state}&from={from}&size={size}", parameters, cursor), userId, parameters);
     }
 }
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class GatewayResponseCache implements MeterBinder {
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+
+    private final boolean enabled;
+    private final Cache<Key, ResponseEntity<Object>> cache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public GatewayResponseCache(ResponseCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    public Mono<ResponseEntity<Object>> get(String family, long userId, String uri,
+                                            Supplier<Mono<ResponseEntity<Object>>> loader) {
+        return get(family, userId, uri, null, loader);
+    }
+
+    public Mono<ResponseEntity<Object>> get(String family, long userId, String uri, @Nullable String ifNoneMatch,
+                                            Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return Mono.defer(() -> load(new Key(family, userId, uri), ifNoneMatch, loader));
+    }
+
+    public Mono<ResponseEntity<Object>> evictAfter(Mono<ResponseEntity<Object>> write, String... families) {
+        if (!enabled) {
+            return write;
+        }
+        return write.doOnNext(response -> evict(families));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "gateway.responses");
+    }
+
+    private Mono<ResponseEntity<Object>> load(Key key, @Nullable String ifNoneMatch,
+                                              Supplier<Mono<ResponseEntity<Object>>> loader) {
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(matches(cached, ifNoneMatch) ? notModified(cached) : cached);
+        }
+        long generation = generation(key.family()).get();
+        return loader.get()
+                .doOnNext(response -> {
+                    if (response.getStatusCode().is2xxSuccessful() && generation(key.family()).get() == generation) {
+                        cache.put(key, response);
+                    }
+                });
+    }
+
+    private static boolean matches(ResponseEntity<Object> response, @Nullable String ifNoneMatch) {
+        String etag = response.getHeaders().getETag();
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        HttpHeaders conditions = new HttpHeaders();
+        conditions.setIfNoneMatch(ifNoneMatch);
+        return conditions.getIfNoneMatch().stream()
+                .anyMatch(tag -> tag.equals("*") || opaqueTag(tag).equals(opaqueTag(etag)));
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static ResponseEntity<Object> notModified(ResponseEntity<Object> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(response.getHeaders().getETag());
+        Optional.ofNullable(response.getHeaders().getCacheControl()).ifPresent(headers::setCacheControl);
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+
+    private void evict(String... families) {
+        Set<String> evicted = Set.of(families);
+        evicted.forEach(family -> generation(family).incrementAndGet());
+        cache.asMap().keySet().removeIf(key -> evicted.contains(key.family()));
+    }
+
+    private AtomicLong generation(String family) {
+        return generations.computeIfAbsent(family, key -> new AtomicLong());
+    }
+
+    private record Key(String family, long userId, String uri) {
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.function.ToIntFunction;
+
+@Configuration
+@EnableConfigurationProperties({
+        HttpClientProperties.class,
+        ResponseCacheProperties.class,
+        CoalescingProperties.class,
+        RetryProperties.class
+})
+public class HttpClientConfig {
+    private static final String MODE_PREFIX = "shareit-server.http-client";
+
+    @Configuration
+    @ConditionalOnProperty(prefix = MODE_PREFIX, name = "mode", havingValue = "rest-template", matchIfMissing = true)
+    static class RestTemplateClientConfig {
+        @Bean(destroyMethod = "close")
+        public PoolingHttpClientConnectionManager shareitServerConnectionManager(HttpClientProperties properties) {
+            return PoolingHttpClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(properties.getMaxTotal())
+                    .setMaxConnPerRoute(properties.getMaxPerRoute())
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                            .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                            .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+                            .build())
+                    .build();
+        }
+
+        @Bean(destroyMethod = "close")
+        public CloseableHttpClient shareitServerHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                           HttpClientProperties properties) {
+            TimeValue keepAlive = TimeValue.of(properties.getKeepAlive());
+            HttpClientBuilder builder = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                            .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                            .build())
+                    .setKeepAliveStrategy((response, context) -> keepAlive)
+                    .evictExpiredConnections()
+                    .evictIdleConnections(keepAlive);
+            if (!properties.isCompression()) {
+                builder.disableContentCompression();
+            }
+            return builder.build();
+        }
+
+        @Bean
+        public ClientHttpRequestFactory shareitServerRequestFactory(CloseableHttpClient httpClient) {
+            return new HttpComponentsClientHttpRequestFactory(httpClient);
+        }
+
+        @Bean(destroyMethod = "dispose")
+        public Scheduler shareitServerScheduler(HttpClientProperties properties) {
+            return Schedulers.newBoundedElastic(properties.getMaxTotal(), Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+                    "shareit-server-http");
+        }
+
+        @Bean
+        public UpstreamExchangeFactory shareitServerExchangeFactory(RestTemplateBuilder builder,
+                                                                    ClientHttpRequestFactory requestFactory,
+                                                                    Scheduler shareitServerScheduler) {
+            return baseUrl -> new RestTemplateExchange(
+                    builder
+                            .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                            .requestFactory(() -> requestFactory)
+                            .build(),
+                    shareitServerScheduler
+            );
+        }
+
+        @Bean
+        public MeterBinder shareitServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+            return registry -> {
+                gauge(registry, connectionManager, "leased", PoolStats::getLeased);
+                gauge(registry, connectionManager, "pending", PoolStats::getPending);
+                gauge(registry, connectionManager, "available", PoolStats::getAvailable);
+                gauge(registry, connectionManager, "max", PoolStats::getMax);
+            };
+        }
+
+        private static void gauge(MeterRegistry registry,
+                                  PoolingHttpClientConnectionManager connectionManager,
+                                  String state, ToIntFunction<PoolStats> value) {
+            Gauge.builder("shareit.gateway.http.pool." + state, connectionManager,
+                            manager -> value.applyAsInt(manager.getTotalStats()))
+                    .description("Connections to shareit-server in state " + state)
+                    .register(registry);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(prefix = MODE_PREFIX, name = "mode", havingValue = "web-client")
+    static class WebClientConfig {
+        @Bean(destroyMethod = "dispose")
+        public ConnectionProvider shareitServerConnectionProvider(HttpClientProperties properties) {
+            return ConnectionProvider.builder("shareit-server")
+                    .maxConnections(properties.getMaxConnections())
+                    .pendingAcquireMaxCount(properties.getMaxPendingAcquires())
+                    .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                    .maxIdleTime(properties.getKeepAlive())
+                    .evictInBackground(properties.getKeepAlive())
+                    .metrics(true)
+                    .build();
+        }
+
+        @Bean
+        public ReactorClientHttpConnector shareitServerConnector(ConnectionProvider connectionProvider,
+                                                                 HttpClientProperties properties) {
+            HttpClient httpClient = HttpClient.create(connectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                    .responseTimeout(properties.getReadTimeout())
+                    .protocol(properties.getProtocols().toArray(HttpProtocol[]::new))
+                    .compress(properties.isCompression())
+                    .keepAlive(true);
+            return new ReactorClientHttpConnector(httpClient);
+        }
+
+        @Bean
+        public UpstreamExchangeFactory shareitServerExchangeFactory(WebClient.Builder builder,
+                                                                    ReactorClientHttpConnector connector) {
+            return baseUrl -> new WebClientExchange(
+                    builder.clone()
+                            .baseUrl(baseUrl)
+                            .clientConnector(connector)
+                            .build()
+            );
+        }
+    }
+}
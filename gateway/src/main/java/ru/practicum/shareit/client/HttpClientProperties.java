@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+    private Mode mode = Mode.REST_TEMPLATE;
+    private int maxTotal = 200;
+    private int maxPerRoute = 100;
+    private int maxConnections = 200;
+    private int maxPendingAcquires = 1000;
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+    private List<HttpProtocol> protocols = List.of(HttpProtocol.HTTP11);
+    private boolean compression = true;
+
+    public enum Mode {
+        REST_TEMPLATE,
+        WEB_CLIENT
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+    private final boolean enabled;
+    private final List<String> paths;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<Key, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalesced = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.paths = List.copyOf(properties.getPaths());
+        this.registry = registry;
+    }
+
+    public Mono<ResponseEntity<Object>> coalesce(String path, String uri, @Nullable Long userId,
+                                                 @Nullable String ifNoneMatch,
+                                                 Supplier<Mono<ResponseEntity<Object>>> call) {
+        Optional<String> pattern = enabled ? match(path) : Optional.empty();
+        if (pattern.isEmpty()) {
+            return call.get();
+        }
+        Key key = new Key(uri, userId, ifNoneMatch);
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Mono<ResponseEntity<Object>> shared = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return call.get()
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache();
+            });
+            if (!leader[0]) {
+                counter(pattern.get()).increment();
+            }
+            return shared;
+        });
+    }
+
+    private Optional<String> match(String path) {
+        return paths.stream()
+                .filter(pattern -> pathMatcher.match(pattern, path))
+                .findFirst();
+    }
+
+    private Counter counter(String pattern) {
+        return coalesced.computeIfAbsent(pattern, key -> Counter.builder("shareit.gateway.requests.coalesced")
+                .tag("path", key)
+                .register(registry));
+    }
+
+    private record Key(String uri, @Nullable Long userId, @Nullable String ifNoneMatch) {
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Map;
+
+public class RestTemplateExchange implements UpstreamExchange {
+    private final RestTemplate rest;
+    private final Scheduler scheduler;
+
+    public RestTemplateExchange(RestTemplate rest, Scheduler scheduler) {
+        this.rest = rest;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, Map<String, Object> parameters,
+                                                 HttpHeaders headers, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, parameters, new HttpEntity<>(body, headers)))
+                .subscribeOn(scheduler);
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, Map<String, Object> parameters,
+                                        HttpEntity<Object> request) {
+        try {
+            ResponseEntity<byte[]> response = rest.exchange(path, method, request, byte[].class, parameters);
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .body(response.getBody());
+        } catch (HttpStatusCodeException e) {
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getResponseHeaders());
+            byte[] responseBody = e.getResponseBodyAsByteArray();
+            return responseBody.length > 0 ? response.body(responseBody) : response.build();
+        }
+    }
+}
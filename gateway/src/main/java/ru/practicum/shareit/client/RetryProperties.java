@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.retry")
+public class RetryProperties {
+    private int maxRetries = 2;
+    private Duration backoff = Duration.ofMillis(50);
+    private double budgetRatio = 0.2;
+    private int budgetMaxTokens = 10;
+}
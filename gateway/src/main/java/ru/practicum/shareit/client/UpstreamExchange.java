@@ -0,0 +1,14 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface UpstreamExchange {
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, Map<String, Object> parameters,
+                                          HttpHeaders headers, @Nullable Object body);
+}
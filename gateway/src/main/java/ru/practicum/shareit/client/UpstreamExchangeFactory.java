@@ -0,0 +1,6 @@
+package ru.practicum.shareit.client;
+
+@FunctionalInterface
+public interface UpstreamExchangeFactory {
+    UpstreamExchange create(String baseUrl);
+}
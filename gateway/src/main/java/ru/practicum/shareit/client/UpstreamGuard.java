@@ -0,0 +1,116 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class UpstreamGuard {
+    private static final Set<HttpStatus> RETRYABLE_STATUSES = Set.of(
+            HttpStatus.BAD_GATEWAY,
+            HttpStatus.SERVICE_UNAVAILABLE,
+            HttpStatus.GATEWAY_TIMEOUT
+    );
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final RetryProperties retryProperties;
+    private final MeterRegistry registry;
+    private final Map<String, RetryBudget> budgets = new ConcurrentHashMap<>();
+
+    public UpstreamGuard(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads,
+                         RetryProperties retryProperties, MeterRegistry registry) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.retryProperties = retryProperties;
+        this.registry = registry;
+    }
+
+    public Mono<ResponseEntity<Object>> protect(String name, boolean idempotent, Mono<ResponseEntity<Object>> call) {
+        Mono<ResponseEntity<Object>> guarded = call
+                .flatMap(UpstreamGuard::failOnServerError)
+                .transformDeferred(BulkheadOperator.of(bulkheads.bulkhead(name)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakers.circuitBreaker(name)));
+        if (idempotent) {
+            RetryBudget budget = budget(name);
+            guarded = Mono.defer(() -> {
+                budget.deposit();
+                return Mono.empty();
+            }).then(guarded.retryWhen(Retry.backoff(retryProperties.getMaxRetries(), retryProperties.getBackoff())
+                    .filter(e -> isRetryable(e) && budget.tryWithdraw())
+                    .doBeforeRetry(signal -> log.warn("Retrying {} call after {}", name, signal.failure().toString()))
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure())));
+        }
+        return guarded
+                .onErrorResume(ServerErrorException.class, e -> Mono.just(e.getResponse()))
+                .onErrorResume(CallNotPermittedException.class, e -> unavailable(e.getMessage()))
+                .onErrorResume(BulkheadFullException.class, e -> unavailable(e.getMessage()))
+                .onErrorResume(UpstreamGuard::isTransportFailure, e -> unavailable(e.getMessage()));
+    }
+
+    private RetryBudget budget(String name) {
+        return budgets.computeIfAbsent(name, key -> {
+            RetryBudget budget = new RetryBudget(retryProperties.getBudgetRatio(), retryProperties.getBudgetMaxTokens());
+            Gauge.builder("shareit.gateway.retry.budget.tokens", budget, RetryBudget::tokens)
+                    .tag("name", key)
+                    .register(registry);
+            return budget;
+        });
+    }
+
+    private static Mono<ResponseEntity<Object>> failOnServerError(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is5xxServerError()) {
+            return Mono.error(new ServerErrorException(response));
+        }
+        return Mono.just(response);
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof ServerErrorException serverError) {
+            return RETRYABLE_STATUSES.contains(HttpStatus.resolve(serverError.getResponse().getStatusCode().value()));
+        }
+        return isTransportFailure(e);
+    }
+
+    private static boolean isTransportFailure(Throwable e) {
+        return e instanceof WebClientRequestException || e instanceof ResourceAccessException;
+    }
+
+    private static Mono<ResponseEntity<Object>> unavailable(String message) {
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .<Object>body(Map.of(
+                        "status", HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "error", HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                        "message", message
+                )));
+    }
+
+    @Getter
+    private static class ServerErrorException extends RuntimeException {
+        private final transient ResponseEntity<Object> response;
+
+        ServerErrorException(ResponseEntity<Object> response) {
+            super("Upstream responded with " + response.getStatusCode());
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class WebClientExchange implements UpstreamExchange {
+    private final WebClient client;
+
+    public WebClientExchange(WebClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, Map<String, Object> parameters,
+                                                 HttpHeaders headers, @Nullable Object body) {
+        WebClient.RequestBodySpec request = client.method(method)
+                .uri(path, parameters)
+                .headers(requestHeaders -> requestHeaders.addAll(headers));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(WebClientExchange::toResponseEntity);
+    }
+
+    private static Mono<ResponseEntity<Object>> toResponseEntity(ClientResponse response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.statusCode())
+                .headers(response.headers().asHttpHeaders());
+
+        return response.bodyToMono(byte[].class)
+                .<ResponseEntity<Object>>map(responseBuilder::body)
+                .defaultIfEmpty(responseBuilder.build());
+    }
+}
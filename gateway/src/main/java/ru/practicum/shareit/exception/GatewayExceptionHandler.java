@@ -0,0 +1,20 @@
+package ru.practicum.shareit.exception;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+@RestControllerAdvice
+@Slf4j
+public class GatewayExceptionHandler {
+    @ExceptionHandler
+    public void handleConstraintViolation(ConstraintViolationException e, HttpServletResponse response) throws IOException {
+        log.warn("Request validation failed | {}", e.getMessage());
+        response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+    }
+}
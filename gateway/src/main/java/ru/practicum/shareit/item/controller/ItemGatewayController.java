@@ -2,17 +2,23 @@ package ru.practicum.shareit.item.controller;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.AddCommentRequest;
 import ru.practicum.shareit.item.dto.AddItemRequest;
 import ru.practicum.shareit.item.dto.ModifyItemRequest;
 import ru.practicum.shareit.item.service.ItemClient;
 
+import java.time.LocalDateTime;
+
 @Controller
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
@@ -24,59 +30,69 @@ public class ItemGatewayController {
     private final ItemClient client;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                         @RequestBody @Valid AddItemRequest request) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                               @RequestBody @Valid AddItemRequest request) {
         log.info(">> POST /items | userId = {}", userId);
-        ResponseEntity<Object> response = client.create(userId, request);
-        log.info("<< POST /items | userId = {} | status: {}", userId, response.getStatusCode());
-        return response;
+        return client.create(userId, request)
+                .doOnNext(response -> log.info("<< POST /items | userId = {} | status: {}", userId, response.getStatusCode()));
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@PathVariable @Positive Long itemId,
-                                         @RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                         @RequestBody @Valid ModifyItemRequest request) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable @Positive Long itemId,
+                                               @RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                               @RequestBody @Valid ModifyItemRequest request) {
         log.info(">> PATCH /items/{} | userId = {}", itemId, userId);
-        ResponseEntity<Object> response = client.update(itemId, userId, request);
-        log.info("<< PATCH /items/{} | userId = {} | status: {}", itemId, userId, response.getStatusCode());
-        return response;
+        return client.update(itemId, userId, request)
+                .doOnNext(response -> log.info("<< PATCH /items/{} | userId = {} | status: {}", itemId, userId, response.getStatusCode()));
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(@PathVariable @Positive Long itemId,
-                                      @RequestHeader(HEADER_USER_ID) @Positive long userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable @Positive Long itemId,
+                                            @RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info(">> GET /items/{} | userId = {}", itemId, userId);
-        ResponseEntity<Object> response = client.get(itemId, userId);
-        log.info("<< GET /items/{} | userId = {} | status: {}", itemId, userId, response.getStatusCode());
-        return response;
+        return client.get(itemId, userId, ifNoneMatch)
+                .doOnNext(response -> log.info("<< GET /items/{} | userId = {} | status: {}", itemId, userId, response.getStatusCode()));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@PathVariable @Positive Long itemId,
+                                                        @RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info(">> GET /items/{}/availability | userId = {} | from = {} | to = {}", itemId, userId, from, to);
+        return client.getAvailability(itemId, userId, from, to)
+                .doOnNext(response -> log.info("<< GET /items/{}/availability | userId = {} | status: {}", itemId, userId, response.getStatusCode()));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader(HEADER_USER_ID) @Positive long userId) {
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                               @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                               @RequestParam(defaultValue = "10") @Positive int size,
+                                               @RequestParam(required = false) String cursor) {
         log.info(">> GET /items | userId = {}", userId);
-        ResponseEntity<Object> response = client.getAll(userId);
-        log.info("<< GET /items | userId = {} | status: {}", userId, response.getStatusCode());
-        return response;
+        return client.getAll(userId, from, size, cursor)
+                .doOnNext(response -> log.info("<< GET /items | userId = {} | status: {}", userId, response.getStatusCode()));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                         @RequestParam String text,
-                                         @RequestParam(defaultValue = "0") int from,
-                                         @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> search(@RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                               @RequestParam String text,
+                                               @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                               @RequestParam(defaultValue = "10") @Positive int size) {
         log.info(">> GET /items/search | text = {}", text);
-        ResponseEntity<Object> response = client.search(userId, text, from, size);
-        log.info("<< GET /items/search | text = {} | status: {}", text, response.getStatusCode());
-        return response;
+        return client.search(userId, text, from, size)
+                .doOnNext(response -> log.info("<< GET /items/search | text = {} | status: {}", text, response.getStatusCode()));
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@PathVariable @Positive Long itemId,
-                                             @RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                             @RequestBody @Valid AddCommentRequest request) {
+    public Mono<ResponseEntity<Object>> addComment(@PathVariable @Positive Long itemId,
+                                                   @RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                                   @RequestBody @Valid AddCommentRequest request) {
         log.info(">> POST /items/{}/comment | userId = {}", itemId, userId);
-        ResponseEntity<Object> response = client.addComment(itemId, userId, request);
-        log.info("<< POST /items/{}/comment | userId = {} | status: {}", itemId, userId, response.getStatusCode());
-        return response;
+        return client.addComment(itemId, userId, request)
+                .doOnNext(response -> log.info("<< POST /items/{}/comment | userId = {} | status: {}", itemId, userId, response.getStatusCode()));
     }
 }
@@ -2,58 +2,89 @@ package ru.practicum.shareit.item.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.UpstreamExchangeFactory;
+import ru.practicum.shareit.client.UpstreamGuard;
 import ru.practicum.shareit.item.dto.AddCommentRequest;
 import ru.practicum.shareit.item.dto.AddItemRequest;
 import ru.practicum.shareit.item.dto.ModifyItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.StringJoiner;
+
+import static ru.practicum.shareit.client.GatewayResponseCache.ITEMS;
+import static ru.practicum.shareit.client.GatewayResponseCache.REQUESTS;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private final GatewayResponseCache responseCache;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, UpstreamExchangeFactory exchanges,
+                      RequestCoalescer coalescer, UpstreamGuard guard, GatewayResponseCache responseCache) {
         super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                exchanges.create(serverUrl + API_PREFIX),
+                API_PREFIX,
+                coalescer,
+                guard
         );
+        this.responseCache = responseCache;
+    }
+
+    public Mono<ResponseEntity<Object>> create(long userId, AddItemRequest request) {
+        return responseCache.evictAfter(post("", userId, request), ITEMS, REQUESTS);
     }
 
-    public ResponseEntity<Object> create(long userId, AddItemRequest request) {
-        return post("", userId, request);
+    public Mono<ResponseEntity<Object>> update(Long itemId, long userId, ModifyItemRequest request) {
+        return responseCache.evictAfter(patch("/" + itemId, userId, request), ITEMS);
     }
 
-    public ResponseEntity<Object> update(Long itemId, long userId, ModifyItemRequest request) {
-        return patch("/" + itemId, userId, request);
+    public Mono<ResponseEntity<Object>> get(Long itemId, long userId, String ifNoneMatch) {
+        String path = "/" + itemId;
+        return responseCache.get(ITEMS, userId, path, ifNoneMatch, () -> getIfNoneMatch(path, userId, ifNoneMatch));
     }
 
-    public ResponseEntity<Object> get(Long itemId, long userId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getAvailability(Long itemId, long userId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringJoiner query = new StringJoiner("&", "?", "").setEmptyValue("");
+        if (from != null) {
+            parameters.put("from", from);
+            query.add("from={from}");
+        }
+        if (to != null) {
+            parameters.put("to", to);
+            query.add("to={to}");
+        }
+        return get("/" + itemId + "/availability" + query, userId, parameters);
     }
 
-    public ResponseEntity<Object> getAll(long userId) {
-        return get("", userId);
+    public Mono<ResponseEntity<Object>> getAll(long userId, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, cursor), userId, parameters);
     }
 
-    public ResponseEntity<Object> search(long userId, String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> search(long userId, String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        String path = "/search?text={text}&from={from}&size={size}";
+        return responseCache.get(ITEMS, userId, uri(path, parameters), () -> get(path, userId, parameters));
     }
 
-    public ResponseEntity<Object> addComment(Long itemId, long userId, AddCommentRequest request) {
-        return post("/" + itemId + "/comment", userId, request);
+    public Mono<ResponseEntity<Object>> addComment(Long itemId, long userId, AddCommentRequest request) {
+        return responseCache.evictAfter(post("/" + itemId + "/comment", userId, request), ITEMS);
     }
 }
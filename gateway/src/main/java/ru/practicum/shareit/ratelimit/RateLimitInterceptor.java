@@ -0,0 +1,91 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry registry;
+    private final Ticker ticker;
+    private final LoadingCache<Key, TokenBucket> buckets;
+    private final Map<Class<?>, String> groups = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry registry) {
+        this(properties, registry, Ticker.systemTicker());
+    }
+
+    RateLimitInterceptor(RateLimitProperties properties, MeterRegistry registry, Ticker ticker) {
+        this.properties = properties;
+        this.registry = registry;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .ticker(ticker)
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build(key -> new TokenBucket(properties.limitFor(key.group())));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!properties.isEnabled() || request.getDispatcherType() != DispatcherType.REQUEST
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        String group = groups.computeIfAbsent(handlerMethod.getBeanType(), RateLimitInterceptor::group);
+        String client = request.getHeader(HEADER_USER_ID);
+        Key key = new Key(client != null ? client : request.getRemoteAddr(), group);
+        long wait = buckets.get(key).tryAcquire(ticker.read());
+        if (wait == 0) {
+            return true;
+        }
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        log.warn("Rate limit exceeded | group = {} | client = {} | retry after {}s", group, key.client(), retryAfter);
+        counter(group).increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        return false;
+    }
+
+    private Counter counter(String group) {
+        return rejected.computeIfAbsent(group, key -> Counter.builder("shareit.gateway.ratelimit.rejected")
+                .tag("group", key)
+                .register(registry));
+    }
+
+    private static String group(Class<?> controller) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class);
+        if (mapping == null || mapping.path().length == 0) {
+            return controller.getSimpleName();
+        }
+        return mapping.path()[0].replaceFirst("^/", "");
+    }
+
+    private record Key(String client, String group) {
+    }
+}
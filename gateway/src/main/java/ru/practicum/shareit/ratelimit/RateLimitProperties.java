@@ -0,0 +1,31 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maxClients = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private Limit defaults = new Limit();
+    private Map<String, Limit> groups = new HashMap<>();
+
+    public Limit limitFor(String group) {
+        return groups.getOrDefault(group, defaults);
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int capacity = 50;
+        private double refillPerSecond = 20;
+    }
+}
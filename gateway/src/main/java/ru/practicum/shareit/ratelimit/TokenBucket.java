@@ -0,0 +1,29 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class TokenBucket {
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(RateLimitProperties.Limit limit) {
+        this.emissionInterval = Math.max(1, Math.round(1_000_000_000L / limit.getRefillPerSecond()));
+        this.burstTolerance = emissionInterval * Math.max(0, limit.getCapacity() - 1);
+    }
+
+    long tryAcquire(long now) {
+        long current;
+        long next;
+        do {
+            current = theoreticalArrival.get();
+            long arrival = Math.max(current, now);
+            long wait = arrival - burstTolerance - now;
+            if (wait > 0) {
+                return wait;
+            }
+            next = arrival + emissionInterval;
+        } while (!theoreticalArrival.compareAndSet(current, next));
+        return 0;
+    }
+}
@@ -2,12 +2,15 @@ package ru.practicum.shareit.request.controller;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.AddItemRequestRequest;
 import ru.practicum.shareit.request.service.ItemRequestClient;
 
@@ -22,40 +25,39 @@ public class ItemRequestGatewayController {
     private final ItemRequestClient client;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                         @RequestBody @Valid AddItemRequestRequest request) {
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                               @RequestBody @Valid AddItemRequestRequest request) {
         log.info(">> POST /requests | userId = {}", userId);
-        ResponseEntity<Object> response = client.create(userId, request);
-        log.info("<< POST /requests | userId = {} | status: {}", userId, response.getStatusCode());
-        return response;
+        return client.create(userId, request)
+                .doOnNext(response -> log.info("<< POST /requests | userId = {} | status: {}", userId, response.getStatusCode()));
     }
 
     @GetMapping
-    public ResponseEntity<Object> getOwn(@RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                         @RequestParam(defaultValue = "0") int from,
-                                         @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getOwn(@RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                               @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                               @RequestParam(defaultValue = "10") @Positive int size,
+                                               @RequestParam(required = false) String cursor) {
         log.info(">> GET /requests | userId = {}", userId);
-        ResponseEntity<Object> response = client.getOwn(userId, from, size);
-        log.info("<< GET /requests | userId = {} | status: {}", userId, response.getStatusCode());
-        return response;
+        return client.getOwn(userId, from, size, cursor)
+                .doOnNext(response -> log.info("<< GET /requests | userId = {} | status: {}", userId, response.getStatusCode()));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getOthers(@RequestHeader(HEADER_USER_ID) @Positive long userId,
-                                            @RequestParam(defaultValue = "0") int from,
-                                            @RequestParam(defaultValue = "10") int size) {
+    public Mono<ResponseEntity<Object>> getOthers(@RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                                  @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                  @RequestParam(defaultValue = "10") @Positive int size,
+                                                  @RequestParam(required = false) String cursor) {
         log.info(">> GET /requests/all | userId = {}", userId);
-        ResponseEntity<Object> response = client.getOthers(userId, from, size);
-        log.info("<< GET /requests/all | userId = {} | status: {}", userId, response.getStatusCode());
-        return response;
+        return client.getOthers(userId, from, size, cursor)
+                .doOnNext(response -> log.info("<< GET /requests/all | userId = {} | status: {}", userId, response.getStatusCode()));
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> get(@PathVariable @Positive Long requestId,
-                                      @RequestHeader(HEADER_USER_ID) @Positive long userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable @Positive Long requestId,
+                                            @RequestHeader(HEADER_USER_ID) @Positive long userId,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info(">> GET /requests/{} | userId = {}", requestId, userId);
-        ResponseEntity<Object> response = client.get(requestId, userId);
-        log.info("<< GET /requests/{} | userId = {} | status: {}", requestId, userId, response.getStatusCode());
-        return response;
+        return client.get(requestId, userId, ifNoneMatch)
+                .doOnNext(response -> log.info("<< GET /requests/{} | userId = {} | status: {}", requestId, userId, response.getStatusCode()));
     }
 }
@@ -2,51 +2,61 @@ package ru.practicum.shareit.request.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.UpstreamExchangeFactory;
+import ru.practicum.shareit.client.UpstreamGuard;
 import ru.practicum.shareit.request.dto.AddItemRequestRequest;
 
+import java.util.HashMap;
 import java.util.Map;
 
+import static ru.practicum.shareit.client.GatewayResponseCache.REQUESTS;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
+    private final GatewayResponseCache responseCache;
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, UpstreamExchangeFactory exchanges,
+                             RequestCoalescer coalescer, UpstreamGuard guard, GatewayResponseCache responseCache) {
         super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                exchanges.create(serverUrl + API_PREFIX),
+                API_PREFIX,
+                coalescer,
+                guard
         );
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> create(long userId, AddItemRequestRequest request) {
-        return post("", userId, request);
+    public Mono<ResponseEntity<Object>> create(long userId, AddItemRequestRequest request) {
+        return responseCache.evictAfter(post("", userId, request), REQUESTS);
     }
 
-    public ResponseEntity<Object> getOwn(long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getOwn(long userId, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("", userId, parameters);
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, cursor), userId, parameters);
     }
 
-    public ResponseEntity<Object> getOthers(long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Object>> getOthers(long userId, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/all", userId, parameters);
+        ));
+        String path = withCursor("/all?from={from}&size={size}", parameters, cursor);
+        return responseCache.get(REQUESTS, userId, uri(path, parameters), () -> get(path, userId, parameters));
     }
 
-    public ResponseEntity<Object> get(Long requestId, long userId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> get(Long requestId, long userId, String ifNoneMatch) {
+        String path = "/" + requestId;
+        return responseCache.get(REQUESTS, userId, path, ifNoneMatch, () -> getIfNoneMatch(path, userId, ifNoneMatch));
     }
 }
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.AddUserRequest;
 import ru.practicum.shareit.user.dto.ModifyUserRequest;
 import ru.practicum.shareit.user.service.UserClient;
@@ -21,35 +22,31 @@ public class UserGatewayController {
     private final UserClient client;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestBody @Valid AddUserRequest request) {
+    public Mono<ResponseEntity<Object>> create(@RequestBody @Valid AddUserRequest request) {
         log.info(">> POST /users");
-        ResponseEntity<Object> response = client.create(request);
-        log.info("<< POST /users | status: {}", response.getStatusCode());
-        return response;
+        return client.create(request)
+                .doOnNext(response -> log.info("<< POST /users | status: {}", response.getStatusCode()));
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@PathVariable @Positive Long userId,
-                                         @RequestBody @Valid ModifyUserRequest request) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable @Positive Long userId,
+                                               @RequestBody @Valid ModifyUserRequest request) {
         log.info(">> PATCH /users/{}", userId);
-        ResponseEntity<Object> response = client.update(userId, request);
-        log.info("<< PATCH /users/{} | status: {}", userId, response.getStatusCode());
-        return response;
+        return client.update(userId, request)
+                .doOnNext(response -> log.info("<< PATCH /users/{} | status: {}", userId, response.getStatusCode()));
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> get(@PathVariable @Positive Long userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable @Positive Long userId) {
         log.info(">> GET /users/{}", userId);
-        ResponseEntity<Object> response = client.get(userId);
-        log.info("<< GET /users/{} | status: {}", userId, response.getStatusCode());
-        return response;
+        return client.get(userId)
+                .doOnNext(response -> log.info("<< GET /users/{} | status: {}", userId, response.getStatusCode()));
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> delete(@PathVariable @Positive Long userId) {
+    public Mono<ResponseEntity<Object>> delete(@PathVariable @Positive Long userId) {
         log.info(">> DELETE /users/{}", userId);
-        ResponseEntity<Object> response = client.delete(userId);
-        log.info("<< DELETE /users/{} | status: {}", userId, response.getStatusCode());
-        return response;
+        return client.delete(userId)
+                .doOnNext(response -> log.info("<< DELETE /users/{} | status: {}", userId, response.getStatusCode()));
     }
 }
@@ -2,12 +2,13 @@ package ru.practicum.shareit.user.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.UpstreamExchangeFactory;
+import ru.practicum.shareit.client.UpstreamGuard;
 import ru.practicum.shareit.user.dto.AddUserRequest;
 import ru.practicum.shareit.user.dto.ModifyUserRequest;
 
@@ -16,28 +17,29 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, UpstreamExchangeFactory exchanges,
+                      RequestCoalescer coalescer, UpstreamGuard guard) {
         super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                exchanges.create(serverUrl + API_PREFIX),
+                API_PREFIX,
+                coalescer,
+                guard
         );
     }
 
-    public ResponseEntity<Object> create(AddUserRequest request) {
+    public Mono<ResponseEntity<Object>> create(AddUserRequest request) {
         return post("", request);
     }
 
-    public ResponseEntity<Object> update(long userId, ModifyUserRequest request) {
+    public Mono<ResponseEntity<Object>> update(long userId, ModifyUserRequest request) {
         return patch("/" + userId, request);
     }
 
-    public ResponseEntity<Object> get(long userId) {
+    public Mono<ResponseEntity<Object>> get(long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> delete(long userId) {
+    public Mono<ResponseEntity<Object>> delete(long userId) {
         return delete("/" + userId);
     }
 }
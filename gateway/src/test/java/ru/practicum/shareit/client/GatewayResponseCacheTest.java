@@ -0,0 +1,137 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.client.GatewayResponseCache.ITEMS;
+import static ru.practicum.shareit.client.GatewayResponseCache.REQUESTS;
+
+class GatewayResponseCacheTest {
+    private static final String ETAG = "\"5\"";
+
+    private GatewayResponseCache cache;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GatewayResponseCache(new ResponseCacheProperties());
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void get_whenCalledTwice_thenLoadedOnce() {
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+        ResponseEntity<Object> response = cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    void get_whenResponseNotSuccessful_thenNotStored() {
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.NOT_FOUND)).block();
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.NOT_MODIFIED)).block();
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.INTERNAL_SERVER_ERROR)).block();
+
+        assertThat(calls.get(), equalTo(3));
+    }
+
+    @Test
+    void get_whenUserDiffers_thenSeparateEntries() {
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+        cache.get(ITEMS, 2L, "/1", respond(HttpStatus.OK)).block();
+        cache.get(ITEMS, 2L, "/1", respond(HttpStatus.OK)).block();
+
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    void evictAfter_whenWriteCompleted_thenWholeFamilyEvicted() {
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+        cache.get(ITEMS, 2L, "/2", respond(HttpStatus.OK)).block();
+        cache.get(REQUESTS, 1L, "/1", respond(HttpStatus.OK)).block();
+
+        cache.evictAfter(Mono.just(ResponseEntity.ok().build()), ITEMS).block();
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+        cache.get(ITEMS, 2L, "/2", respond(HttpStatus.OK)).block();
+        cache.get(REQUESTS, 1L, "/1", respond(HttpStatus.OK)).block();
+
+        assertThat(calls.get(), equalTo(5));
+    }
+
+    @Test
+    void evictAfter_whenLoadInFlightDuringWrite_thenStaleResponseNotStored() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        cache.get(ITEMS, 1L, "/1", () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        }).subscribe();
+
+        cache.evictAfter(Mono.just(ResponseEntity.ok().build()), ITEMS).block();
+        upstream.tryEmitValue(ResponseEntity.ok("stale"));
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    void get_whenIfNoneMatchEqualsCachedEtag_thenNotModifiedFromCache() {
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+
+        ResponseEntity<Object> response = cache.get(ITEMS, 1L, "/1", ETAG, respond(HttpStatus.OK)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(response.getHeaders().getETag(), equalTo(ETAG));
+        assertThat(response.hasBody(), is(false));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    void get_whenIfNoneMatchListsCachedEtag_thenNotModifiedFromCache() {
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+
+        ResponseEntity<Object> response = cache.get(ITEMS, 1L, "/1", "\"4\", W/" + ETAG,
+                respond(HttpStatus.OK)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+    }
+
+    @Test
+    void get_whenIfNoneMatchStale_thenCachedBodyReturned() {
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+
+        ResponseEntity<Object> response = cache.get(ITEMS, 1L, "/1", "\"4\"", respond(HttpStatus.OK)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody(), equalTo("item"));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    void get_whenDisabled_thenAlwaysLoaded() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(false);
+        cache = new GatewayResponseCache(properties);
+
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+        cache.get(ITEMS, 1L, "/1", respond(HttpStatus.OK)).block();
+
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> respond(HttpStatus status) {
+        return () -> {
+            calls.incrementAndGet();
+            return Mono.just(ResponseEntity.status(status).eTag(ETAG).body("item"));
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestCoalescerTest {
+    private static final String PATH = "/items/1";
+    private static final String URI = "http://localhost:9090/items/1";
+
+    private SimpleMeterRegistry registry;
+    private RequestCoalescer coalescer;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(new CoalescingProperties(), registry);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void coalesce_whenIdenticalRequestsInFlight_thenSingleUpstreamExchange() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        List<ResponseEntity<Object>> responses = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            coalescer.coalesce(PATH, URI, 1L, null, counted(upstream.asMono())).subscribe(responses::add);
+        }
+        upstream.tryEmitValue(ResponseEntity.ok("item"));
+
+        assertThat(calls.get(), equalTo(1));
+        assertThat(responses, hasSize(3));
+        assertThat(responses, everyItem(hasProperty("body", equalTo("item"))));
+        assertThat(registry.get("shareit.gateway.requests.coalesced").tag("path", "/items/{itemId}")
+                .counter().count(), equalTo(2.0));
+    }
+
+    @Test
+    void coalesce_whenUserDiffers_thenNotCoalesced() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+
+        coalescer.coalesce(PATH, URI, 1L, null, counted(upstream.asMono())).subscribe();
+        coalescer.coalesce(PATH, URI, 2L, null, counted(upstream.asMono())).subscribe();
+
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    void coalesce_whenIfNoneMatchDiffers_thenNotCoalesced() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+
+        coalescer.coalesce(PATH, URI, 1L, null, counted(upstream.asMono())).subscribe();
+        coalescer.coalesce(PATH, URI, 1L, "\"1\"", counted(upstream.asMono())).subscribe();
+        coalescer.coalesce(PATH, URI, 1L, "\"2\"", counted(upstream.asMono())).subscribe();
+
+        assertThat(calls.get(), equalTo(3));
+    }
+
+    @Test
+    void coalesce_whenPathNotConfigured_thenNotCoalesced() {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+
+        coalescer.coalesce("/bookings/1", URI, 1L, null, counted(upstream.asMono())).subscribe();
+        coalescer.coalesce("/bookings/1", URI, 1L, null, counted(upstream.asMono())).subscribe();
+
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    @Test
+    void coalesce_whenUpstreamFailed_thenErrorNotCached() {
+        Supplier<Mono<ResponseEntity<Object>>> failing = counted(Mono.error(new IllegalStateException("down")));
+
+        assertThrows(IllegalStateException.class, () -> coalescer.coalesce(PATH, URI, 1L, null, failing).block());
+        ResponseEntity<Object> response = coalescer.coalesce(PATH, URI, 1L, null,
+                counted(Mono.just(ResponseEntity.ok("item")))).block();
+
+        assertThat(calls.get(), equalTo(2));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+    }
+
+    @Test
+    void coalesce_whenExchangeCompleted_thenNextCallGoesUpstream() {
+        Supplier<Mono<ResponseEntity<Object>>> call = counted(Mono.just(ResponseEntity.ok("item")));
+
+        coalescer.coalesce(PATH, URI, 1L, null, call).block();
+        coalescer.coalesce(PATH, URI, 1L, null, call).block();
+
+        assertThat(calls.get(), equalTo(2));
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> counted(Mono<ResponseEntity<Object>> response) {
+        return () -> {
+            calls.incrementAndGet();
+            return response;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class RetryBudgetTest {
+    @Test
+    void tryWithdraw_whenBalanceSpent_thenDenied() {
+        RetryBudget budget = new RetryBudget(0.25, 2);
+
+        assertThat(budget.tryWithdraw(), is(true));
+        assertThat(budget.tryWithdraw(), is(true));
+        assertThat(budget.tryWithdraw(), is(false));
+        assertThat(budget.tokens(), equalTo(0.0));
+    }
+
+    @Test
+    void deposit_whenEnoughRequestsSucceeded_thenRetryAllowedAgain() {
+        RetryBudget budget = new RetryBudget(0.25, 1);
+        budget.tryWithdraw();
+
+        for (int i = 0; i < 3; i++) {
+            budget.deposit();
+        }
+        assertThat(budget.tryWithdraw(), is(false));
+        budget.deposit();
+
+        assertThat(budget.tryWithdraw(), is(true));
+    }
+
+    @Test
+    void deposit_whenBudgetFull_thenCappedAtMaxTokens() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+
+        budget.deposit();
+        budget.deposit();
+
+        assertThat(budget.tokens(), equalTo(1.0));
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class UpstreamGuardTest {
+    private static final String NAME = "items";
+
+    private CircuitBreakerRegistry circuitBreakers;
+    private RetryProperties retryProperties;
+    private SimpleMeterRegistry registry;
+    private UpstreamGuard guard;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+        retryProperties = new RetryProperties();
+        retryProperties.setBackoff(Duration.ofMillis(1));
+        registry = new SimpleMeterRegistry();
+        guard = new UpstreamGuard(circuitBreakers, BulkheadRegistry.ofDefaults(), retryProperties, registry);
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void protect_whenIdempotentCallUnavailable_thenRetried() {
+        ResponseEntity<Object> response = guard.protect(NAME, true, respond(HttpStatus.SERVICE_UNAVAILABLE)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(calls.get(), equalTo(1 + retryProperties.getMaxRetries()));
+    }
+
+    @Test
+    void protect_whenWriteUnavailable_thenNeverRetried() {
+        ResponseEntity<Object> response = guard.protect(NAME, false, respond(HttpStatus.SERVICE_UNAVAILABLE)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    void protect_whenRetryBudgetSpent_thenRetriesStopUntilRefilled() {
+        retryProperties.setBudgetMaxTokens(1);
+        retryProperties.setBudgetRatio(0.5);
+
+        guard.protect(NAME, true, respond(HttpStatus.SERVICE_UNAVAILABLE)).block();
+        assertThat(calls.get(), equalTo(2));
+        assertThat(budgetTokens(), equalTo(0.0));
+
+        calls.set(0);
+        guard.protect(NAME, true, respond(HttpStatus.SERVICE_UNAVAILABLE)).block();
+        assertThat(calls.get(), equalTo(1));
+        assertThat(budgetTokens(), equalTo(0.5));
+
+        calls.set(0);
+        guard.protect(NAME, true, respond(HttpStatus.SERVICE_UNAVAILABLE)).block();
+        assertThat(calls.get(), equalTo(2));
+        assertThat(budgetTokens(), equalTo(0.0));
+    }
+
+    @Test
+    void protect_whenBreakerOpen_thenServiceUnavailableWithoutCall() {
+        circuitBreakers.circuitBreaker(NAME).transitionToOpenState();
+
+        ResponseEntity<Object> response = guard.protect(NAME, true, respond(HttpStatus.OK)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(response.getBody(), instanceOf(Map.class));
+        assertThat(((Map<?, ?>) response.getBody()).get("status"), equalTo(503));
+        assertThat(calls.get(), equalTo(0));
+    }
+
+    @Test
+    void protect_whenUpstreamClientError_thenPassedThroughUnchanged() {
+        Map<String, Object> body = Map.of("error", "Вещь не найдена");
+
+        ResponseEntity<Object> response = guard.protect(NAME, true, respond(HttpStatus.NOT_FOUND, body)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(response.getBody(), sameInstance(body));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    void protect_whenUpstreamServerError_thenPassedThroughUnchanged() {
+        Map<String, Object> body = Map.of("error", "Internal failure");
+
+        ResponseEntity<Object> response = guard.protect(NAME, true,
+                respond(HttpStatus.INTERNAL_SERVER_ERROR, body)).block();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.INTERNAL_SERVER_ERROR));
+        assertThat(response.getBody(), sameInstance(body));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    private Mono<ResponseEntity<Object>> respond(HttpStatus status) {
+        return respond(status, Map.of());
+    }
+
+    private Mono<ResponseEntity<Object>> respond(HttpStatus status, Object body) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.just(ResponseEntity.status(status).body(body));
+        });
+    }
+
+    private double budgetTokens() {
+        return registry.get("shareit.gateway.retry.budget.tokens").tag("name", NAME).gauge().value();
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class RateLimitInterceptorTest {
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    private final AtomicLong time = new AtomicLong();
+    private SimpleMeterRegistry registry;
+    private RateLimitInterceptor interceptor;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(2);
+        limit.setRefillPerSecond(0.5);
+        properties.getGroups().put("items", limit);
+        registry = new SimpleMeterRegistry();
+        interceptor = new RateLimitInterceptor(properties, registry, time::get);
+        handler = new HandlerMethod(new ItemsController(), "get");
+    }
+
+    @Test
+    void preHandle_whenBurstSpent_thenTooManyRequestsWithRetryAfter() throws Exception {
+        assertThat(handle(user("1")).getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(handle(user("1")).getStatus(), equalTo(HttpStatus.OK.value()));
+
+        MockHttpServletResponse rejected = handle(user("1"));
+
+        assertThat(rejected.getStatus(), equalTo(HttpStatus.TOO_MANY_REQUESTS.value()));
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER), equalTo("2"));
+        assertThat(registry.get("shareit.gateway.ratelimit.rejected").tag("group", "items").counter().count(),
+                equalTo(1.0));
+    }
+
+    @Test
+    void preHandle_whenPartlyRefilled_thenRetryAfterRoundedUp() throws Exception {
+        handle(user("1"));
+        handle(user("1"));
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+
+        MockHttpServletResponse rejected = handle(user("1"));
+
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER), equalTo("1"));
+    }
+
+    @Test
+    void preHandle_whenRefillIntervalPassed_thenAllowedAgain() throws Exception {
+        handle(user("1"));
+        handle(user("1"));
+        time.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertThat(handle(user("1")).getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(handle(user("1")).getStatus(), equalTo(HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    @Test
+    void preHandle_whenUserHeaderDiffers_thenSeparateBuckets() throws Exception {
+        handle(user("1"));
+        handle(user("1"));
+
+        assertThat(handle(user("1")).getStatus(), equalTo(HttpStatus.TOO_MANY_REQUESTS.value()));
+        assertThat(handle(user("2")).getStatus(), equalTo(HttpStatus.OK.value()));
+        assertThat(handle(address("10.0.0.1")).getStatus(), equalTo(HttpStatus.OK.value()));
+    }
+
+    @Test
+    void preHandle_whenNoUserHeader_thenKeyedByRemoteAddress() throws Exception {
+        handle(address("10.0.0.1"));
+        handle(address("10.0.0.1"));
+
+        assertThat(handle(address("10.0.0.1")).getStatus(), equalTo(HttpStatus.TOO_MANY_REQUESTS.value()));
+        assertThat(handle(address("10.0.0.2")).getStatus(), equalTo(HttpStatus.OK.value()));
+    }
+
+    @Test
+    void preHandle_whenUserHeaderPresent_thenRemoteAddressIgnored() throws Exception {
+        MockHttpServletRequest first = user("1");
+        first.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest second = user("1");
+        second.setRemoteAddr("10.0.0.2");
+        handle(first);
+        handle(second);
+
+        MockHttpServletRequest third = user("1");
+        third.setRemoteAddr("10.0.0.3");
+
+        assertThat(handle(third).getStatus(), equalTo(HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    private MockHttpServletResponse handle(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceed = interceptor.preHandle(request, response, handler);
+        assertThat(proceed, is(response.getStatus() == HttpStatus.OK.value()));
+        return response;
+    }
+
+    private static MockHttpServletRequest user(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.addHeader(HEADER_USER_ID, userId);
+        return request;
+    }
+
+    private static MockHttpServletRequest address(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    @RequestMapping("/items")
+    static class ItemsController {
+        public void get() {
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_whenWithinCapacity_thenBurstAllowed() {
+        TokenBucket bucket = new TokenBucket(limit(3, 1));
+
+        assertThat(bucket.tryAcquire(0), equalTo(0L));
+        assertThat(bucket.tryAcquire(0), equalTo(0L));
+        assertThat(bucket.tryAcquire(0), equalTo(0L));
+        assertThat(bucket.tryAcquire(0), equalTo(SECOND));
+    }
+
+    @Test
+    void tryAcquire_whenBurstSpent_thenRefilledAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(limit(2, 4));
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(SECOND / 8), equalTo(SECOND / 8));
+        assertThat(bucket.tryAcquire(SECOND / 4), equalTo(0L));
+        assertThat(bucket.tryAcquire(SECOND / 4), equalTo(SECOND / 4));
+        assertThat(bucket.tryAcquire(SECOND / 2), equalTo(0L));
+    }
+
+    @Test
+    void tryAcquire_whenIdleLongerThanBurst_thenBurstNotExceeded() {
+        TokenBucket bucket = new TokenBucket(limit(2, 1));
+
+        long later = 60 * SECOND;
+        assertThat(bucket.tryAcquire(later), equalTo(0L));
+        assertThat(bucket.tryAcquire(later), equalTo(0L));
+        assertThat(bucket.tryAcquire(later), equalTo(SECOND));
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity, double refillPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setRefillPerSecond(refillPerSecond);
+        return limit;
+    }
+}
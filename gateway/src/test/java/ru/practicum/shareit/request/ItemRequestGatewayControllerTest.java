@@ -0,0 +1,86 @@
+package ru.practicum.shareit.request;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.controller.ItemRequestGatewayController;
+import ru.practicum.shareit.request.service.ItemRequestClient;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemRequestGatewayController.class)
+class ItemRequestGatewayControllerTest {
+    private static final String HEADER_USER_ID = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ItemRequestClient client;
+
+    @Test
+    void getOthers_whenSizeZero_thenBadRequest() throws Exception {
+        mvc.perform(get("/requests/all")
+                        .header(HEADER_USER_ID, 1)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void getOwn_whenSizeNegative_thenBadRequest() throws Exception {
+        mvc.perform(get("/requests")
+                        .header(HEADER_USER_ID, 1)
+                        .param("size", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void getOthers_whenFromNegative_thenBadRequest() throws Exception {
+        mvc.perform(get("/requests/all")
+                        .header(HEADER_USER_ID, 1)
+                        .param("from", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void getOthers_whenPageValid_thenForwarded() throws Exception {
+        when(client.getOthers(anyLong(), anyInt(), anyInt(), any())).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        MvcResult result = mvc.perform(get("/requests/all")
+                        .header(HEADER_USER_ID, 1)
+                        .param("from", "0")
+                        .param("size", "1"))
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        verify(client).getOthers(1L, 0, 1, null);
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Load {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("usage: java Load.java <url> <concurrency> <duration-seconds> [warmup-seconds] [user-id]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        Duration warmup = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 0);
+        String userId = args.length > 4 ? args[4] : "1";
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("X-Sharer-User-Id", userId)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        if (!warmup.isZero()) {
+            run(client, request, concurrency, warmup);
+        }
+        Result result = run(client, request, concurrency, duration);
+        System.out.printf("requests=%d rps=%.1f p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms statuses=%s%n",
+                result.latencies().size(),
+                result.latencies().size() / (double) duration.toSeconds(),
+                result.percentile(0.50), result.percentile(0.90), result.percentile(0.99), result.percentile(1.0),
+                result.statuses());
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, Duration duration) {
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        String status;
+                        try {
+                            status = String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                        } catch (Exception e) {
+                            status = e.getClass().getSimpleName();
+                        }
+                        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                        latencies.add(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        Map<String, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return new Result(sorted, counts);
+    }
+
+    private record Result(List<Long> latencies, Map<String, Long> statuses) {
+        double percentile(double p) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            int index = Math.min(latencies.size() - 1, (int) Math.ceil(p * latencies.size()) - 1);
+            return latencies.get(Math.max(index, 0)) / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+#!/usr/bin/env bash
+#
+# Compares platform and virtual threads end to end (client -> gateway -> server).
+#
+# Usage: loadtest/run.sh [concurrency] [duration-seconds]
+#
+# Environment:
+#   SERVER_PROFILES  base server profiles, default "test" (in-memory H2);
+#                    set to "" and export SPRING_DATASOURCE_* to load PostgreSQL
+#   TARGET_PATH      gateway path to load, default "/bookings/owner?state=ALL&size=20"
+#   BOOKINGS         bookings seeded for the owner's item, default 20
+#   WARMUP           warm-up seconds before each measurement, default 10
+#   SKIP_BUILD       set to 1 to reuse the jars in */target
+#   MODES            modes to run, default "platform virtual"
+
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+CONCURRENCY=${1:-20}
+DURATION=${2:-20}
+SERVER_PROFILES=${SERVER_PROFILES-test}
+TARGET_PATH=${TARGET_PATH:-/bookings/owner?state=ALL&size=20}
+BOOKINGS=${BOOKINGS:-20}
+WARMUP=${WARMUP:-10}
+MODES=${MODES:-platform virtual}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+SERVER=http://localhost:9090
+GATEWAY=http://localhost:8080
+LOGS=$ROOT/loadtest/logs
+PIDS=()
+
+stop() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2>/dev/null || true
+        wait "$pid" 2>/dev/null || true
+    done
+    PIDS=()
+}
+trap stop EXIT
+
+await() {
+    for _ in $(seq 90); do
+        if curl -sf "$1/actuator/health" >/dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "$1 did not start" >&2
+    exit 1
+}
+
+profiles() {
+    local IFS=,
+    local list=()
+    for profile in "$@"; do
+        [ -n "$profile" ] && list+=("$profile")
+    done
+    echo "${list[*]}"
+}
+
+post() {
+    curl -sf -o /dev/null -H 'Content-Type: application/json' -H "X-Sharer-User-Id: $2" -d "$3" "$SERVER$1"
+}
+
+seed() {
+    post /users 0 '{"name":"owner","email":"owner@load.test"}'
+    post /users 0 '{"name":"booker","email":"booker@load.test"}'
+    post /items 1 '{"name":"drill","description":"load test item","available":true}'
+    for i in $(seq "$BOOKINGS"); do
+        start=$(date -d "+$((i + 1)) days" +%Y-%m-%dT10:00:00)
+        end=$(date -d "+$((i + 1)) days" +%Y-%m-%dT18:00:00)
+        post /bookings 2 "{\"itemId\":1,\"start\":\"$start\",\"end\":\"$end\"}"
+    done
+}
+
+run() {
+    local mode=$1 extra=""
+    [ "$mode" = virtual ] && extra=virtual-threads
+    "$JAVA" -jar "$ROOT/server/target/shareit-server-0.0.1-SNAPSHOT.jar" \
+        --spring.profiles.active="$(profiles "$SERVER_PROFILES" "$extra")" \
+        >"$LOGS/server-$mode.log" 2>&1 &
+    PIDS+=($!)
+    "$JAVA" -jar "$ROOT/gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar" \
+        --spring.profiles.active="$extra" \
+        --shareit-gateway.rate-limit.enabled=false \
+        >"$LOGS/gateway-$mode.log" 2>&1 &
+    PIDS+=($!)
+    await "$SERVER"
+    await "$GATEWAY"
+    seed
+    printf '%-8s ' "$mode"
+    "$JAVA" "$ROOT/loadtest/Load.java" "$GATEWAY$TARGET_PATH" "$CONCURRENCY" "$DURATION" "$WARMUP" 1
+    stop
+}
+
+if [ "${SKIP_BUILD:-0}" != 1 ]; then
+    (cd "$ROOT" && mvn -B -q package -DskipTests)
+fi
+mkdir -p "$LOGS"
+echo "concurrency=$CONCURRENCY duration=${DURATION}s warmup=${WARMUP}s target=$TARGET_PATH bookings=$BOOKINGS"
+for mode in $MODES; do
+    run "$mode"
+done
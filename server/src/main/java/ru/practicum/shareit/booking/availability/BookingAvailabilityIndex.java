@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static ru.practicum.shareit.exception.errors.ErrorMessage.BOOKING_ITEM_OVERLAP;
+
+@Component
+@Slf4j
+public class BookingAvailabilityIndex {
+    public static final Set<BookingStatus> OCCUPYING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, ItemTimeline> timelines;
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    @Value("${shareit.availability.max-items:10000}") long maxItems,
+                                    @Value("${shareit.availability.expire-after-access:PT1H}") Duration expireAfterAccess) {
+        this.bookingRepository = bookingRepository;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public boolean isFree(long itemId, LocalDateTime start, LocalDateTime end) {
+        return timeline(itemId).isFree(start, end);
+    }
+
+    public List<TimeWindow> findFreeWindows(long itemId, LocalDateTime from, LocalDateTime to) {
+        return timeline(itemId).findFreeWindows(from, to);
+    }
+
+    public List<TimeWindow> findBusyWindows(long itemId, LocalDateTime from, LocalDateTime to) {
+        return timeline(itemId).findBusyWindows(from, to);
+    }
+
+    public void reserve(Booking booking) {
+        ItemTimeline timeline = timeline(booking.getItem().getId());
+        if (!timeline.tryReserve(booking.getId(), booking.getStart(), booking.getEnd())) {
+            log.warn("Попытка забронировать вещь id={} на занятое время", booking.getItem().getId());
+            throw new ConflictException(BOOKING_ITEM_OVERLAP);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        timeline.release(booking.getId(), booking.getStart());
+                    }
+                }
+            });
+        }
+    }
+
+    public void release(Booking booking) {
+        release(booking.getItem().getId(), booking.getId(), booking.getStart());
+    }
+
+    public void release(long itemId, long bookingId, LocalDateTime start) {
+        ItemTimeline timeline = timeline(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    timeline.release(bookingId, start);
+                }
+            });
+        } else {
+            timeline.release(bookingId, start);
+        }
+    }
+
+    public void evictUser(long userId) {
+        List<Long> itemIds = bookingRepository.findItemIdsAffectedByUser(userId);
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(itemIds);
+                }
+            });
+        } else {
+            invalidate(itemIds);
+        }
+    }
+
+    private void invalidate(List<Long> itemIds) {
+        timelines.invalidateAll(itemIds);
+        log.info("Сброшены графики бронирований вещей {}", itemIds);
+    }
+
+    private ItemTimeline timeline(long itemId) {
+        ItemTimeline timeline = timelines.getIfPresent(itemId);
+        if (timeline != null) {
+            return timeline;
+        }
+        ItemTimeline loaded = load(itemId);
+        ItemTimeline existing = timelines.asMap().putIfAbsent(itemId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private ItemTimeline load(long itemId) {
+        ItemTimeline timeline = new ItemTimeline();
+        List<Booking> bookings = bookingRepository.findAllByItem_IdAndStatusIn(itemId, OCCUPYING_STATUSES);
+        for (Booking booking : bookings) {
+            if (!timeline.tryReserve(booking.getId(), booking.getStart(), booking.getEnd())) {
+                log.warn("Бронирование id={} пересекается с другим бронированием вещи id={}", booking.getId(), itemId);
+            }
+        }
+        log.info("Загружен график бронирований вещи id={} из {} бронирований", itemId, bookings.size());
+        return timeline;
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+class ItemTimeline {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<LocalDateTime, Slot> slots = new TreeMap<>();
+
+    boolean isFree(LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            return findOverlapping(start, end) == null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean tryReserve(long bookingId, LocalDateTime start, LocalDateTime end) {
+        lock.writeLock().lock();
+        try {
+            Slot overlapping = findOverlapping(start, end);
+            if (overlapping != null) {
+                return overlapping.bookingId() == bookingId;
+            }
+            slots.put(start, new Slot(bookingId, end));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void release(long bookingId, LocalDateTime start) {
+        lock.writeLock().lock();
+        try {
+            Slot slot = slots.get(start);
+            if (slot != null && slot.bookingId() == bookingId) {
+                slots.remove(start);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<TimeWindow> findFreeWindows(LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            List<TimeWindow> windows = new ArrayList<>();
+            LocalDateTime position = from;
+            Map.Entry<LocalDateTime, Slot> before = slots.lowerEntry(from);
+            if (before != null && before.getValue().end().isAfter(position)) {
+                position = before.getValue().end();
+            }
+            for (Map.Entry<LocalDateTime, Slot> entry : slots.subMap(from, true, to, false).entrySet()) {
+                if (entry.getKey().isAfter(position)) {
+                    windows.add(new TimeWindow(position, entry.getKey()));
+                }
+                if (entry.getValue().end().isAfter(position)) {
+                    position = entry.getValue().end();
+                }
+            }
+            if (position.isBefore(to)) {
+                windows.add(new TimeWindow(position, to));
+            }
+            return windows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    List<TimeWindow> findBusyWindows(LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            List<TimeWindow> windows = new ArrayList<>();
+            LocalDateTime start = null;
+            LocalDateTime end = null;
+            Map.Entry<LocalDateTime, Slot> before = slots.lowerEntry(from);
+            if (before != null && before.getValue().end().isAfter(from)) {
+                start = from;
+                end = before.getValue().end();
+            }
+            for (Map.Entry<LocalDateTime, Slot> entry : slots.subMap(from, true, to, false).entrySet()) {
+                if (end != null && !entry.getKey().isAfter(end)) {
+                    if (entry.getValue().end().isAfter(end)) {
+                        end = entry.getValue().end();
+                    }
+                    continue;
+                }
+                if (start != null) {
+                    windows.add(new TimeWindow(start, end.isBefore(to) ? end : to));
+                }
+                start = entry.getKey();
+                end = entry.getValue().end();
+            }
+            if (start != null) {
+                windows.add(new TimeWindow(start, end.isBefore(to) ? end : to));
+            }
+            return windows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Slot findOverlapping(LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Slot> candidate = slots.lowerEntry(end);
+        if (candidate != null && candidate.getValue().end().isAfter(start)) {
+            return candidate.getValue();
+        }
+        return null;
+    }
+
+    private record Slot(long bookingId, LocalDateTime end) {
+    }
+}
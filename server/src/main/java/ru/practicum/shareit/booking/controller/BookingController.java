@@ -4,9 +4,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -38,21 +43,47 @@ public class BookingController {
         return ResponseEntity.ok(responseDto);
     }
 
+    @PatchMapping("/approve")
+    public ResponseEntity<List<BookingDecisionResultDto>> approveAll(@RequestHeader(HEADER_USER_ID) long userId,
+                                                                     @RequestBody List<BookingDecisionDto> decisions) {
+        log.info("Request by user id={} approve {} bookings", userId, decisions.size());
+        List<BookingDecisionResultDto> responseDtos = service.approveAll(userId, decisions);
+        log.info("Returned list of size {}", responseDtos.size());
+        return ResponseEntity.ok(responseDtos);
+    }
+
+    @PatchMapping("/{bookingId}/cancel")
+    public ResponseEntity<BookingResponseDto> cancel(@PathVariable Long bookingId,
+                                                     @RequestHeader(HEADER_USER_ID) long userId) {
+        log.info("Request by user id={} cancel booking id={}", userId, bookingId);
+        BookingResponseDto responseDto = service.cancel(bookingId, userId);
+        log.info("Canceled booking: {}", responseDto);
+        return ResponseEntity.ok(responseDto);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<BookingResponseDto> getById(@PathVariable Long bookingId,
                                                       @RequestHeader(HEADER_USER_ID) long userId) {
         log.info("Request get booking id={} by user id={}", bookingId, userId);
         BookingResponseDto responseDto = service.getById(bookingId, userId);
         log.info("Returned booking: {}", responseDto);
-        return ResponseEntity.ok(responseDto);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(responseDto))
+                .body(responseDto);
     }
 
     @GetMapping
     public ResponseEntity<List<BookingResponseDto>> getBookingsByUser(@RequestHeader(HEADER_USER_ID) long userId,
                                                                       @RequestParam(defaultValue = "ALL") String state,
                                                                       @RequestParam(defaultValue = "0") int from,
-                                                                      @RequestParam(defaultValue = "10") int size) {
+                                                                      @RequestParam(defaultValue = "10") int size,
+                                                                      @RequestParam(required = false) String cursor) {
         log.info("Request get bookings by user id={} with state={}", userId, state);
+        if (cursor != null) {
+            CursorPage<BookingResponseDto> page = service.getBookingsByUser(userId, state, Cursor.decode(cursor), size);
+            log.info("Returned list of size {}", page.content().size());
+            return page.toResponse();
+        }
         List<BookingResponseDto> responseDtos = service.getBookingsByUser(userId, state, from, size);
         log.info("Returned list of size {}", responseDtos.size());
         return ResponseEntity.ok(responseDtos);
@@ -62,8 +93,14 @@ public class BookingController {
     public ResponseEntity<List<BookingResponseDto>> getBookingsByOwner(@RequestHeader(HEADER_USER_ID) long userId,
                                                                        @RequestParam(defaultValue = "ALL") String state,
                                                                        @RequestParam(defaultValue = "0") int from,
-                                                                       @RequestParam(defaultValue = "10") int size) {
+                                                                       @RequestParam(defaultValue = "10") int size,
+                                                                       @RequestParam(required = false) String cursor) {
         log.info("Request get bookings by owner id={} with state={}", userId, state);
+        if (cursor != null) {
+            CursorPage<BookingResponseDto> page = service.getBookingsByOwner(userId, state, Cursor.decode(cursor), size);
+            log.info("Returned list of size {}", page.content().size());
+            return page.toResponse();
+        }
         List<BookingResponseDto> responseDtos = service.getBookingsByOwner(userId, state, from, size);
         log.info("Returned list of size {}", responseDtos.size());
         return ResponseEntity.ok(responseDtos);
@@ -41,4 +41,8 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private BookingStatus status;
+
+    @Version
+    @EqualsAndHashCode.Exclude
+    private Long version;
 }
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(prefix = "shareit.booking.expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class StaleBookingExpiryJob {
+    private final BookingService bookingService;
+    private final int batchSize;
+
+    public StaleBookingExpiryJob(BookingService bookingService,
+                                 @Value("${shareit.booking.expiry.batch-size:500}") int batchSize) {
+        this.bookingService = bookingService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.interval:PT1M}")
+    public void expireStaleWaiting() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        int batch;
+        do {
+            batch = bookingService.expireStaleWaiting(now, batchSize);
+            expired += batch;
+        } while (batch == batchSize);
+        if (expired > 0) {
+            log.info("Истек срок подтверждения {} бронирований", expired);
+        }
+    }
+}
@@ -6,8 +6,10 @@ import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemSummary;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.dto.UserSummary;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
@@ -36,6 +38,17 @@ public final class BookingMapper {
                 .build();
     }
 
+    public static BookingResponseDto toDto(Booking entity, UserSummary booker, ItemSummary item) {
+        return BookingResponseDto.builder()
+                .id(entity.getId())
+                .start(entity.getStart())
+                .end(entity.getEnd())
+                .item(ItemMapper.toDto(item))
+                .booker(UserMapper.toDto(booker))
+                .status(entity.getStatus())
+                .build();
+    }
+
     public static List<BookingResponseDto> toDto(List<Booking> entities) {
         return entities.stream()
                 .map(BookingMapper::toDto)
@@ -6,5 +6,6 @@ public enum BookingState {
     FUTURE,
     PAST,
     REJECTED,
+    CANCELED,
     WAITING
 }
@@ -1,30 +1,131 @@
 package ru.practicum.shareit.booking.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.ItemNearestBookings;
 import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking>,
+        BookingRepositoryCustom {
     boolean existsByItem_IdAndBooker_IdAndEndIsBefore(Long itemId, long bookerId, LocalDateTime time);
 
+    List<Booking> findAllByItem_IdAndStatusIn(Long itemId, Collection<BookingStatus> statuses);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "item")
+    List<Booking> findAllByIdIn(Collection<Long> bookingIds);
+
+    @Modifying(clearAutomatically = true)
     @Query("""
-            SELECT b
+            UPDATE Booking b
+            SET b.status = :status, b.version = b.version + 1
+            WHERE b.id = :bookingId
+                AND b.status = 'WAITING'
+                AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
+            """)
+    int updateWaitingStatus(@Param("bookingId") Long bookingId, @Param("ownerId") long ownerId,
+                            @Param("status") BookingStatus status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Booking b
+            SET b.status = :status, b.version = b.version + 1
+            WHERE b.id IN :bookingIds
+                AND b.status = 'WAITING'
+                AND b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)
+            """)
+    int updateWaitingStatuses(@Param("bookingIds") Collection<Long> bookingIds, @Param("ownerId") long ownerId,
+                              @Param("status") BookingStatus status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Booking b
+            SET b.status = :status, b.version = b.version + 1
+            WHERE b.id = :bookingId
+                AND b.booker.id = :bookerId
+                AND b.status IN ('WAITING', 'APPROVED')
+                AND b.start > :now
+            """)
+    int updateNotStartedStatus(@Param("bookingId") Long bookingId, @Param("bookerId") long bookerId,
+                               @Param("now") LocalDateTime now, @Param("status") BookingStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<Booking> findAllByStatusAndStartBeforeOrderByStartAsc(BookingStatus status, LocalDateTime time, Limit limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Booking b
+            SET b.status = :status, b.version = b.version + 1
+            WHERE b.id IN :bookingIds
+                AND b.status = 'WAITING'
+            """)
+    int updateWaitingStatuses(@Param("bookingIds") Collection<Long> bookingIds, @Param("status") BookingStatus status);
+
+    @Query("""
+            SELECT i.id
+            FROM Item i
+                LEFT JOIN i.request r
+            WHERE i.owner.id = :userId
+                OR r.requestor.id = :userId
+                OR EXISTS (SELECT b.id FROM Booking b WHERE b.item = i AND b.booker.id = :userId)
+            """)
+    List<Long> findItemIdsAffectedByUser(@Param("userId") long userId);
+
+    @Query("""
+            SELECT b.start
+            FROM Booking b
+            WHERE b.item.id = :itemId
+                AND b.status = 'APPROVED'
+                AND b.start > :now
+            ORDER BY b.start ASC
+            LIMIT 1
+            """)
+    Optional<LocalDateTime> findNextBookingStart(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT b.start
             FROM Booking b
             WHERE b.item.id = :itemId
                 AND b.status = 'APPROVED'
-                AND (
-                    (:isStart = true AND b.start > CURRENT_TIMESTAMP)
-                    OR
-                    (:isStart = false AND b.end < CURRENT_TIMESTAMP)
-                )
-            ORDER BY
-                CASE WHEN :isStart = true THEN b.start END ASC,
-                CASE WHEN :isStart = false THEN b.end END DESC
+                AND b.end < :now
+            ORDER BY b.end DESC
+            LIMIT 1
             """)
-    Optional<Booking> findNearestBooking(@Param("itemId") Long itemId, @Param("isStart") boolean isStart);
+    Optional<LocalDateTime> findLastBookingStart(@Param("itemId") Long itemId, @Param("now") LocalDateTime now);
+
+    @Query(value = """
+            SELECT nearest.item_id AS "itemId",
+                MAX(CASE WHEN nearest.end_date < :now AND nearest.last_rank = 1 THEN nearest.start_date END) AS "lastBooking",
+                MIN(CASE WHEN nearest.start_date > :now THEN nearest.start_date END) AS "nextBooking"
+            FROM (
+                SELECT b.item_id, b.start_date, b.end_date,
+                    ROW_NUMBER() OVER (
+                        PARTITION BY b.item_id
+                        ORDER BY CASE WHEN b.end_date < :now THEN b.end_date END DESC NULLS LAST
+                    ) AS last_rank
+                FROM bookings b
+                WHERE b.item_id IN (:itemIds)
+                    AND b.status = 'APPROVED'
+                    AND (b.end_date < :now OR b.start_date > :now)
+            ) nearest
+            GROUP BY nearest.item_id
+            """, nativeQuery = true)
+    List<ItemNearestBookings> findNearestBookings(@Param("itemIds") Collection<Long> itemIds,
+                                                  @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.repository;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingRepositoryCustom {
+    List<BookingResponseDto> findAllAsDto(Predicate predicate, Pageable page);
+
+    Optional<BookingResponseDto> findAsDto(long bookingId);
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.QBooking;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.entity.QItem;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.entity.QUser;
+
+import java.util.List;
+import java.util.Optional;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private final EntityManager entityManager;
+    private final Querydsl querydsl;
+
+    public BookingRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.querydsl = new Querydsl(entityManager, new PathBuilder<>(Booking.class, QBooking.booking.getMetadata()));
+    }
+
+    @Override
+    public List<BookingResponseDto> findAllAsDto(Predicate predicate, Pageable page) {
+        return querydsl.applyPagination(page, selectAsDto(predicate)).fetch();
+    }
+
+    @Override
+    public Optional<BookingResponseDto> findAsDto(long bookingId) {
+        return Optional.ofNullable(selectAsDto(QBooking.booking.id.eq(bookingId)).fetchOne());
+    }
+
+    private JPQLQuery<BookingResponseDto> selectAsDto(Predicate predicate) {
+        QBooking booking = QBooking.booking;
+        QItem item = QItem.item;
+        QUser booker = QUser.user;
+        return new JPAQuery<>(entityManager)
+                .select(Projections.constructor(BookingResponseDto.class,
+                        booking.id,
+                        booking.start,
+                        booking.end,
+                        booking.status,
+                        Projections.constructor(UserResponseDto.class,
+                                booker.id,
+                                booker.name,
+                                booker.email),
+                        Projections.constructor(ItemResponseDto.class,
+                                item.id,
+                                item.name,
+                                item.description,
+                                item.available,
+                                item.owner.id,
+                                item.request.id)))
+                .from(booking)
+                .join(booking.item, item)
+                .join(booking.booker, booker)
+                .where(predicate);
+    }
+}
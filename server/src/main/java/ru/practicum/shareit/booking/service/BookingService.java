@@ -1,9 +1,14 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -11,11 +16,21 @@ public interface BookingService {
 
     BookingResponseDto approve(Long bookingId, long userId, boolean approved);
 
+    List<BookingDecisionResultDto> approveAll(long userId, List<BookingDecisionDto> decisions);
+
+    BookingResponseDto cancel(Long bookingId, long userId);
+
+    int expireStaleWaiting(LocalDateTime now, int limit);
+
     BookingResponseDto getById(Long bookingId, long userId);
 
     List<BookingResponseDto> getBookingsByUser(long userId, String state, int from, int size);
 
     List<BookingResponseDto> getBookingsByOwner(long userId, String state, int from, int size);
 
+    CursorPage<BookingResponseDto> getBookingsByUser(long userId, String state, Cursor cursor, int size);
+
+    CursorPage<BookingResponseDto> getBookingsByOwner(long userId, String state, Cursor cursor, int size);
+
     Booking findByIdOrThrow(Long bookingId);
 }
@@ -3,11 +3,15 @@ package ru.practicum.shareit.booking.service;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.entity.Booking;
@@ -17,16 +21,20 @@ import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
-import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.dto.ItemSummary;
 import ru.practicum.shareit.item.service.ItemService;
-import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.user.dto.UserSummary;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.exception.errors.ErrorMessage.*;
 
@@ -35,42 +43,126 @@ import static ru.practicum.shareit.exception.errors.ErrorMessage.*;
 @Transactional(readOnly = true)
 @Slf4j
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_DECISIONS = 100;
+
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final BookingAvailabilityIndex availabilityIndex;
 
     @Override
     @Transactional
     public BookingResponseDto create(long userId, BookingInputDto dto) {
         validateTimeBooking(dto);
-        User booker = userService.findUserOrThrow(userId);
-        Item item = itemService.findItemOrThrow(dto.getItemId());
-        if (item.getAvailable().equals(false)) {
+        UserSummary booker = userService.findSummaryOrThrow(userId);
+        ItemSummary item = itemService.findSummaryOrThrow(dto.getItemId());
+        if (!item.available()) {
             log.warn("Попытка забронировать недоступную вещь");
             throw new ValidationException(BOOKING_ITEM_UNAVAILABLE);
         }
-        Booking booking = bookingRepository.save(BookingMapper.toEntity(dto, booker, item));
+        if (!availabilityIndex.isFree(item.id(), dto.getStart(), dto.getEnd())) {
+            log.warn("Попытка забронировать вещь id={} на занятое время", item.id());
+            throw new ConflictException(BOOKING_ITEM_OVERLAP);
+        }
+        Booking booking = saveBooking(BookingMapper.toEntity(dto, userService.getReference(booker.id()),
+                itemService.getReference(item.id())));
+        availabilityIndex.reserve(booking);
         log.info("Добавлена сущность Booking: {}", booking);
-        return BookingMapper.toDto(booking);
+        return BookingMapper.toDto(booking, booker, item);
     }
 
     @Override
     @Transactional
     public BookingResponseDto approve(Long bookingId, long userId, boolean approved) {
-        Booking booking = findByIdOrThrow(bookingId);
-        if (booking.getStatus().equals(BookingStatus.REJECTED) || booking.getStatus().equals(BookingStatus.CANCELED)) {
-            log.warn("Попытка подтвердить бронирование со статусом {}", booking.getStatus());
-            throw new ValidationException(ONLY_STATUS_WAITING_APPROVED);
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (bookingRepository.updateWaitingStatus(bookingId, userId, status) == 0) {
+            throw rejectApproval(bookingId, userId);
         }
-        if (!isUserOwner(booking, userId)) {
-            log.warn("Попытка подтвердить бронирование id={} пользователем id={} вместо владельца", bookingId, userId);
-            throw new AccessDeniedException(ONLY_OWNER_APPROVED);
+        BookingResponseDto booking = bookingRepository.findAsDto(bookingId)
+                .orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND));
+        if (!approved) {
+            availabilityIndex.release(booking.getItem().getId(), booking.getId(), booking.getStart());
         }
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         log.info("Обновлена сущность Booking: {}", booking);
+        return booking;
+    }
+
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> approveAll(long userId, List<BookingDecisionDto> decisions) {
+        Map<Long, Boolean> requested = validateDecisions(decisions);
+        Map<Long, Booking> bookings = bookingRepository.findAllByIdIn(requested.keySet()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<BookingStatus, List<Long>> accepted = new EnumMap<>(BookingStatus.class);
+        List<BookingDecisionResultDto> results = new ArrayList<>(requested.size());
+        for (Map.Entry<Long, Boolean> decision : requested.entrySet()) {
+            Booking booking = bookings.get(decision.getKey());
+            String error = checkDecision(booking, userId);
+            if (error != null) {
+                results.add(BookingDecisionResultDto.builder()
+                        .bookingId(decision.getKey())
+                        .status(booking != null && isUserOwner(booking, userId) ? booking.getStatus() : null)
+                        .applied(false)
+                        .error(error)
+                        .build());
+                continue;
+            }
+            BookingStatus status = decision.getValue() ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+            accepted.computeIfAbsent(status, key -> new ArrayList<>()).add(booking.getId());
+            results.add(BookingDecisionResultDto.builder()
+                    .bookingId(booking.getId())
+                    .status(status)
+                    .applied(true)
+                    .build());
+        }
+        accepted.forEach((status, ids) -> {
+            int updated = bookingRepository.updateWaitingStatuses(ids, userId, status);
+            if (updated != ids.size()) {
+                log.warn("Статус {} применён к {} из {} бронирований {}", status, updated, ids.size(), ids);
+                throw new ConflictException(BOOKING_MODIFIED_CONCURRENTLY);
+            }
+        });
+        accepted.getOrDefault(BookingStatus.REJECTED, List.of())
+                .forEach(bookingId -> availabilityIndex.release(bookings.get(bookingId)));
+        log.info("Владельцем id={} обработано {} решений по бронированиям, применено {}", userId, results.size(),
+                accepted.values().stream().mapToInt(List::size).sum());
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public BookingResponseDto cancel(Long bookingId, long userId) {
+        if (bookingRepository.updateNotStartedStatus(bookingId, userId, LocalDateTime.now(), BookingStatus.CANCELED) == 0) {
+            throw rejectCancel(bookingId, userId);
+        }
+        Booking booking = findByIdOrThrow(bookingId);
+        availabilityIndex.release(booking);
+        log.info("Отменена сущность Booking: {}", booking);
         return BookingMapper.toDto(booking);
     }
 
+    @Override
+    @Transactional
+    public int expireStaleWaiting(LocalDateTime now, int limit) {
+        List<Booking> stale = bookingRepository.findAllByStatusAndStartBeforeOrderByStartAsc(
+                BookingStatus.WAITING, now, Limit.of(limit));
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = stale.stream()
+                .map(Booking::getId)
+                .toList();
+        int updated = bookingRepository.updateWaitingStatuses(ids, BookingStatus.REJECTED);
+        if (updated != ids.size()) {
+            log.warn("Статус {} применён к {} из {} просроченных бронирований {}", BookingStatus.REJECTED, updated,
+                    ids.size(), ids);
+            throw new ConflictException(BOOKING_MODIFIED_CONCURRENTLY);
+        }
+        stale.forEach(availabilityIndex::release);
+        log.info("Отклонено {} неподтвержденных бронирований с наступившей датой начала", updated);
+        return updated;
+    }
+
     @Override
     public BookingResponseDto getById(Long bookingId, long userId) {
         Booking booking = findByIdOrThrow(bookingId);
@@ -84,22 +176,42 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingResponseDto> getBookingsByUser(long userId, String state, int from, int size) {
-        User user = userService.findUserOrThrow(userId);
-        List<Booking> result = findBookingsByState(user.getId(), state, from, size, true).getContent();
+        userService.requireExists(userId);
+        List<BookingResponseDto> result = findBookingsByState(userId, state, from, size, true);
         log.info("Возвращен список в размере {} найденных сущностей Booking пользователю id={}", result.size(), userId);
-        return BookingMapper.toDto(result);
+        return result;
     }
 
     @Override
     public List<BookingResponseDto> getBookingsByOwner(long userId, String state, int from, int size) {
-        User owner = userService.findUserOrThrow(userId);
-        if (!itemService.hasUserAnyItems(owner.getId())) {
+        userService.requireExists(userId);
+        if (!itemService.hasUserAnyItems(userId)) {
             log.warn("Попытка просмотреть бронирования пользователем id={} не являющимся владельцем вещей", userId);
             throw new AccessDeniedException(ONLY_OWNER_VIEW);
         }
-        List<Booking> result = findBookingsByState(owner.getId(), state, from, size, false).getContent();
+        List<BookingResponseDto> result = findBookingsByState(userId, state, from, size, false);
         log.info("Возвращен список в размере {} найденных сущностей Booking владельцу id={}", result.size(), userId);
-        return BookingMapper.toDto(result);
+        return result;
+    }
+
+    @Override
+    public CursorPage<BookingResponseDto> getBookingsByUser(long userId, String state, Cursor cursor, int size) {
+        userService.requireExists(userId);
+        CursorPage<BookingResponseDto> result = findBookingsByState(userId, state, cursor, size, true);
+        log.info("Возвращен список в размере {} найденных сущностей Booking пользователю id={}", result.content().size(), userId);
+        return result;
+    }
+
+    @Override
+    public CursorPage<BookingResponseDto> getBookingsByOwner(long userId, String state, Cursor cursor, int size) {
+        userService.requireExists(userId);
+        if (!itemService.hasUserAnyItems(userId)) {
+            log.warn("Попытка просмотреть бронирования пользователем id={} не являющимся владельцем вещей", userId);
+            throw new AccessDeniedException(ONLY_OWNER_VIEW);
+        }
+        CursorPage<BookingResponseDto> result = findBookingsByState(userId, state, cursor, size, false);
+        log.info("Возвращен список в размере {} найденных сущностей Booking владельцу id={}", result.content().size(), userId);
+        return result;
     }
 
     @Override
@@ -108,6 +220,65 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND));
     }
 
+    private RuntimeException rejectApproval(Long bookingId, long userId) {
+        Booking booking = findByIdOrThrow(bookingId);
+        if (!isUserOwner(booking, userId)) {
+            log.warn("Попытка подтвердить бронирование id={} пользователем id={} вместо владельца", bookingId, userId);
+            return new AccessDeniedException(ONLY_OWNER_APPROVED);
+        }
+        log.warn("Попытка подтвердить бронирование id={} со статусом {}", bookingId, booking.getStatus());
+        return new ConflictException(ONLY_STATUS_WAITING_APPROVED);
+    }
+
+    private RuntimeException rejectCancel(Long bookingId, long userId) {
+        Booking booking = findByIdOrThrow(bookingId);
+        if (!isUserBooker(booking, userId)) {
+            log.warn("Попытка отменить бронирование id={} пользователем id={} вместо автора", bookingId, userId);
+            return new AccessDeniedException(ONLY_BOOKER_CANCEL);
+        }
+        log.warn("Попытка отменить бронирование id={} со статусом {} и началом {}", bookingId, booking.getStatus(),
+                booking.getStart());
+        return new ConflictException(ONLY_NOT_STARTED_CANCEL);
+    }
+
+    private Map<Long, Boolean> validateDecisions(List<BookingDecisionDto> decisions) {
+        if (decisions.size() > MAX_DECISIONS) {
+            log.warn("Передан список из {} решений по бронированиям, максимум {}", decisions.size(), MAX_DECISIONS);
+            throw new ValidationException(BOOKING_DECISIONS_INCORRECT);
+        }
+        Map<Long, Boolean> requested = new LinkedHashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (decision == null || decision.getBookingId() == null || decision.getApproved() == null
+                    || requested.put(decision.getBookingId(), decision.getApproved()) != null) {
+                log.warn("Передан некорректный список решений по бронированиям: {}", decisions);
+                throw new ValidationException(BOOKING_DECISIONS_INCORRECT);
+            }
+        }
+        return requested;
+    }
+
+    private String checkDecision(Booking booking, long userId) {
+        if (booking == null) {
+            return BOOKING_NOT_FOUND;
+        }
+        if (!isUserOwner(booking, userId)) {
+            return ONLY_OWNER_APPROVED;
+        }
+        if (booking.getStatus() != BookingStatus.WAITING) {
+            return ONLY_STATUS_WAITING_APPROVED;
+        }
+        return null;
+    }
+
+    private Booking saveBooking(Booking booking) {
+        try {
+            return bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Попытка сохранить бронирование, пересекающееся с существующим: {}", e.getMessage());
+            throw new ConflictException(BOOKING_ITEM_OVERLAP);
+        }
+    }
+
     private void validateTimeBooking(BookingInputDto dto) {
         if (dto.getStart().isAfter(dto.getEnd()) || dto.getStart().equals(dto.getEnd())) {
             log.warn("Попытка указать некорректные даты при бронировании");
@@ -132,9 +303,30 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
-    private Page<Booking> findBookingsByState(long userId, String state, int from, int size, boolean isBooker) {
-        BookingState bookingState = validateBookingState(state);
+    private List<BookingResponseDto> findBookingsByState(long userId, String state, int from, int size, boolean isBooker) {
+        BooleanExpression predicate = byUserAndState(userId, state, isBooker);
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size, Sort.by(Sort.Direction.DESC, "start"));
+        return bookingRepository.findAllAsDto(predicate, page);
+    }
+
+    private CursorPage<BookingResponseDto> findBookingsByState(long userId, String state, Cursor cursor, int size,
+                                                               boolean isBooker) {
+        BooleanExpression predicate = byUserAndState(userId, state, isBooker);
+        if (cursor != null) {
+            if (cursor.position() == null) {
+                log.warn("Попытка указать курсор без позиции при просмотре бронирований");
+                throw new ValidationException(CURSOR_INCORRECT);
+            }
+            predicate = predicate.and(QBooking.booking.start.lt(cursor.position())
+                    .or(QBooking.booking.start.eq(cursor.position()).and(QBooking.booking.id.lt(cursor.id()))));
+        }
+        PageRequest page = PageRequest.of(0, CursorPage.limit(size).max(), Sort.by(Sort.Direction.DESC, "start", "id"));
+        List<BookingResponseDto> result = bookingRepository.findAllAsDto(predicate, page);
+        return CursorPage.of(result, size, booking -> new Cursor(booking.getStart(), booking.getId()));
+    }
+
+    private BooleanExpression byUserAndState(long userId, String state, boolean isBooker) {
+        BookingState bookingState = validateBookingState(state);
         LocalDateTime currentTime = LocalDateTime.now();
 
         BooleanExpression byUser = isBooker
@@ -150,9 +342,10 @@ public class BookingServiceImpl implements BookingService {
             case PAST -> QBooking.booking.status.eq(BookingStatus.APPROVED)
                     .and(QBooking.booking.end.before(currentTime));
             case REJECTED -> QBooking.booking.status.eq(BookingStatus.REJECTED);
+            case CANCELED -> QBooking.booking.status.eq(BookingStatus.CANCELED);
             case WAITING -> QBooking.booking.status.eq(BookingStatus.WAITING);
             case ALL -> null;
         };
-        return bookingRepository.findAll(byState != null ? byUser.and(byState) : byUser, page);
+        return byState != null ? byUser.and(byState) : byUser;
     }
 }
@@ -6,19 +6,29 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ErrorMessage {
     public static final String HEADER_USER_ID = "X-Sharer-User-Id";
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
     public static final String USER_NOT_FOUND = "Пользователь не найден";
     public static final String EMAIL_ALREADY_EXISTS = "Указанный почтовый адрес уже зарегистрирован";
     public static final String REQUEST_NOT_FOUND = "Запрос вещи не найден";
     public static final String ITEM_NOT_FOUND = "Вещь не найдена";
+    public static final String ITEM_MODIFIED_CONCURRENTLY = "Вещь была изменена другим запросом, повторите попытку";
     public static final String ONLY_OWNER_MODIFY = "Редактировать данные может только владелец вещи";
     public static final String COMPLETED_BOOKING_NOT_FOUND = "Оставлять комментарии могут только пользователи к вещам, которые брали в аренду";
     public static final String BOOKING_NOT_FOUND = "Бронирование не найдено";
     public static final String BOOKING_ITEM_UNAVAILABLE = "Вещь для бронирования недоступна";
+    public static final String BOOKING_ITEM_OVERLAP = "Вещь уже забронирована на указанное время";
     public static final String BOOKING_TIME_INCORRECT = "Проверьте корректность указанного времени бронирования";
     public static final String BOOKING_STATE_INCORRECT = "Проверьте корректность указанного состояния бронирования";
     public static final String ONLY_STATUS_WAITING_APPROVED = "Бронирования подтверждаются только со статусом \"Ожидает подтверждения\"";
+    public static final String BOOKING_MODIFIED_CONCURRENTLY = "Бронирование было изменено другим запросом, повторите попытку";
+    public static final String BOOKING_DECISIONS_INCORRECT = "Проверьте корректность списка решений по бронированиям";
     public static final String ONLY_OWNER_APPROVED = "Подтверждать бронирование может только владелец вещи";
+    public static final String ONLY_BOOKER_CANCEL = "Отменить бронирование может только его автор";
+    public static final String ONLY_NOT_STARTED_CANCEL = "Отменить можно только не начавшееся бронирование со статусом \"Ожидает подтверждения\" или \"Подтверждено\"";
     public static final String ONLY_BOOKER_OR_OWNER_VIEW = "Просматривать информацию о бронировании может только автор бронирования и владелец вещи";
     public static final String ONLY_OWNER_VIEW = "Просматривать список бронирований вещей может только владелец";
+    public static final String AVAILABILITY_RANGE_INCORRECT = "Проверьте корректность указанного периода доступности вещи";
+    public static final String CURSOR_INCORRECT = "Проверьте корректность указанного курсора страницы";
+    public static final String PAGE_SIZE_INCORRECT = "Размер страницы должен быть положительным числом";
 
 }
@@ -2,11 +2,16 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.exception.errors.ErrorMessage.HEADER_USER_ID;
@@ -43,15 +48,36 @@ public class ItemController {
         log.info("Request get item id={} by user id={}", itemId, userId);
         ItemResponseDetailsDto responseDetailsDto = service.getById(itemId, userId);
         log.info("Returned item: {}", responseDetailsDto);
-        return ResponseEntity.ok(responseDetailsDto);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(responseDetailsDto))
+                .body(responseDetailsDto);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<ItemAvailabilityDto> getAvailability(@PathVariable Long itemId,
+                                                               @RequestHeader(HEADER_USER_ID) long userId,
+                                                               @RequestParam(required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                               @RequestParam(required = false)
+                                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Request get availability of item id={} by user id={} from {} to {}", itemId, userId, from, to);
+        ItemAvailabilityDto responseDto = service.getAvailability(itemId, from, to);
+        log.info("Returned availability: {} busy, {} free windows", responseDto.getBusy().size(), responseDto.getFree().size());
+        return ResponseEntity.ok(responseDto);
     }
 
     @GetMapping
-    public ResponseEntity<List<ItemResponseDto>> getAllByUserId(@RequestHeader(HEADER_USER_ID) long userId,
-                                                                @RequestParam(defaultValue = "0") int from,
-                                                                @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<List<ItemResponseDetailsDto>> getAllByUserId(@RequestHeader(HEADER_USER_ID) long userId,
+                                                                       @RequestParam(defaultValue = "0") int from,
+                                                                       @RequestParam(defaultValue = "10") int size,
+                                                                       @RequestParam(required = false) String cursor) {
         log.info("Request get all own items by user id={}", userId);
-        List<ItemResponseDto> responseDtos = service.getAllById(userId, from, size);
+        if (cursor != null) {
+            CursorPage<ItemResponseDetailsDto> page = service.getAllById(userId, Cursor.decode(cursor), size);
+            log.info("Returned list of size {}", page.content().size());
+            return page.toResponse();
+        }
+        List<ItemResponseDetailsDto> responseDtos = service.getAllById(userId, from, size);
         log.info("Returned list of size {}", responseDtos.size());
         return ResponseEntity.ok(responseDtos);
     }
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.item.dto;
+
+public record ItemSummary(long id, String name, String description, boolean available, long ownerId,
+                          Long requestId) {
+}
@@ -46,4 +46,7 @@ public class Item {
     @Builder.Default
     @ToString.Exclude
     private List<Comment> comments = new ArrayList<>();
+
+    @Version
+    private Long version;
 }
@@ -5,12 +5,15 @@ import lombok.NoArgsConstructor;
 import ru.practicum.shareit.item.dto.ItemInputDto;
 import ru.practicum.shareit.item.dto.ItemResponseDetailsDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemSummary;
+import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.request.entity.ItemRequest;
 import ru.practicum.shareit.user.entity.User;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -36,6 +39,22 @@ public final class ItemMapper {
                 .build();
     }
 
+    public static ItemResponseDto toDto(ItemSummary summary) {
+        return ItemResponseDto.builder()
+                .id(summary.id())
+                .name(summary.name())
+                .description(summary.description())
+                .available(summary.available())
+                .ownerId(summary.ownerId())
+                .requestId(summary.requestId())
+                .build();
+    }
+
+    public static ItemSummary toSummary(Item entity) {
+        return new ItemSummary(entity.getId(), entity.getName(), entity.getDescription(), entity.getAvailable(),
+                entity.getOwner().getId(), entity.getRequest() != null ? entity.getRequest().getId() : null);
+    }
+
     public static List<ItemResponseDto> toDto(List<Item> entities) {
         return entities.stream()
                 .map(ItemMapper::toDto)
@@ -43,6 +62,11 @@ public final class ItemMapper {
     }
 
     public static ItemResponseDetailsDto toDetailsDto(Item entity, LocalDateTime last, LocalDateTime next) {
+        return toDetailsDto(entity, last, next, entity.getComments());
+    }
+
+    public static ItemResponseDetailsDto toDetailsDto(Item entity, LocalDateTime last, LocalDateTime next,
+                                                      Collection<Comment> comments) {
         return ItemResponseDetailsDto.builder()
                 .id(entity.getId())
                 .name(entity.getName())
@@ -52,7 +76,7 @@ public final class ItemMapper {
                 .requestId(entity.getRequest() != null ? entity.getRequest().getId() : null)
                 .lastBooking(last)
                 .nextBooking(next)
-                .comments(new ArrayList<>(entity.getComments().stream()
+                .comments(new ArrayList<>(comments.stream()
                         .map(CommentMapper::toDto)
                         .toList()
                 ))
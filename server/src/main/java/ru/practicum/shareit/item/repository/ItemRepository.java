@@ -1,13 +1,43 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.entity.Item;
 
-public interface ItemRepository extends JpaRepository<Item, Long>, QuerydslPredicateExecutor<Item> {
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemRepository extends JpaRepository<Item, Long>, QuerydslPredicateExecutor<Item>,
+        ItemRepositoryCustom {
     boolean existsByOwner_Id(long ownerId);
 
-    Page<Item> findAllByOwner_Id(long ownerId, Pageable page);
+    Slice<Item> findAllByOwner_Id(long ownerId, Pageable page);
+
+    List<Item> findAllByOwner_IdAndIdGreaterThanOrderByIdAsc(long ownerId, long id, Limit limit);
+
+    List<Item> findAllByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    List<Item> findAllByRequest_IdIn(Collection<Long> requestIds);
+
+    @Query("""
+            SELECT i.id
+            FROM Item i
+            WHERE i.request.requestor.id = :requestorId
+            """)
+    List<Long> findIdsByRequestorId(@Param("requestorId") long requestorId);
+
+    @Query(value = """
+            SELECT i.*
+            FROM items i
+            WHERE i.owner_id <> :userId
+                AND i.is_available = TRUE
+                AND (i.name ILIKE :pattern OR i.description ILIKE :pattern)
+            ORDER BY i.id
+            """, nativeQuery = true)
+    List<Item> searchAvailableByPattern(@Param("userId") long userId, @Param("pattern") String pattern, Pageable page);
 }
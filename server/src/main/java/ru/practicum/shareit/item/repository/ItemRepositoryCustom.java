@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.repository;
+
+import com.querydsl.core.types.Predicate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.entity.Item;
+
+public interface ItemRepositoryCustom {
+    Slice<Item> findSlice(Predicate predicate, Pageable page);
+}
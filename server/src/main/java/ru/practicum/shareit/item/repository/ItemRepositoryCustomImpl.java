@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.repository;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPQLQuery;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.entity.QItem;
+
+import java.util.List;
+
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+    private final EntityManager entityManager;
+    private final Querydsl querydsl;
+
+    public ItemRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.querydsl = new Querydsl(entityManager, new PathBuilder<>(Item.class, QItem.item.getMetadata()));
+    }
+
+    @Override
+    public Slice<Item> findSlice(Predicate predicate, Pageable page) {
+        QItem item = QItem.item;
+        JPQLQuery<Item> query = new JPAQuery<>(entityManager)
+                .select(item)
+                .from(item)
+                .where(predicate);
+        if (page.isPaged()) {
+            query = querydsl.applySorting(page.getSort(), query)
+                    .offset(page.getOffset())
+                    .limit(page.getPageSize() + 1L);
+        }
+        List<Item> rows = query.fetch();
+        boolean hasNext = page.isPaged() && rows.size() > page.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, page.getPageSize()) : rows, page, hasNext);
+    }
+}
@@ -0,0 +1,302 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(prefix = "shareit.search", name = "engine", havingValue = "inverted")
+@Slf4j
+public class InvertedItemSearchIndex implements ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final int rebuildPageSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, LongPostingList> terms = new HashMap<>();
+    private final Map<String, Set<String>> grams = new HashMap<>();
+    private final Map<Long, LongPostingList> owners = new HashMap<>();
+    private final LongPostingList available = new LongPostingList();
+    private final Map<Long, IndexedItem> documents = new HashMap<>();
+
+    public InvertedItemSearchIndex(ItemRepository itemRepository,
+                                   @Value("${shareit.search.rebuild-page-size:500}") int rebuildPageSize) {
+        this.itemRepository = itemRepository;
+        this.rebuildPageSize = rebuildPageSize;
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        long lastId = 0;
+        int indexed = 0;
+        List<Item> page;
+        do {
+            page = itemRepository.findAllByIdGreaterThanOrderByIdAsc(lastId, Limit.of(rebuildPageSize));
+            for (Item item : page) {
+                apply(IndexedItem.of(item));
+                lastId = item.getId();
+            }
+            indexed += page.size();
+        } while (page.size() == rebuildPageSize);
+        log.info("Построен индекс поиска по {} сущностям Item", indexed);
+    }
+
+    @Override
+    public void index(Item item) {
+        IndexedItem document = IndexedItem.of(item);
+        afterCommit(() -> apply(document));
+    }
+
+    @Override
+    public void unindexOwner(long ownerId) {
+        List<Long> requestedItemIds = itemRepository.findIdsByRequestorId(ownerId);
+        afterCommit(() -> removeOwner(ownerId, requestedItemIds));
+    }
+
+    @Override
+    public List<Item> search(long userId, String text, Pageable page) {
+        String phrase = text.toLowerCase(Locale.ROOT);
+        while (true) {
+            List<Long> ids = findIds(userId, phrase, page);
+            if (ids.isEmpty()) {
+                return Collections.emptyList();
+            }
+            Map<Long, Item> found = itemRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            if (found.size() == ids.size()) {
+                return ids.stream()
+                        .map(found::get)
+                        .toList();
+            }
+            List<Long> stale = ids.stream()
+                    .filter(id -> !found.containsKey(id))
+                    .toList();
+            log.warn("Из индекса поиска удалены отсутствующие сущности Item: {}", stale);
+            stale.forEach(this::remove);
+        }
+    }
+
+    private List<Long> findIds(long userId, String phrase, Pageable page) {
+        lock.readLock().lock();
+        try {
+            long[] candidates = null;
+            for (String token : tokenize(phrase)) {
+                if (token.length() < GRAM_LENGTH) {
+                    continue;
+                }
+                long[] postings = findContaining(token);
+                candidates = candidates == null ? postings : LongPostingList.intersect(candidates, postings);
+            }
+            if (candidates == null) {
+                log.debug("Поиск по фразе без слов длиной от {} символов не выполняется: '{}'", GRAM_LENGTH, phrase);
+                return Collections.emptyList();
+            }
+            LongPostingList own = owners.get(userId);
+            List<Long> result = new ArrayList<>(page.getPageSize());
+            long skip = page.getOffset();
+            for (long id : candidates) {
+                if (!available.contains(id) || (own != null && own.contains(id)) || !documents.get(id).contains(phrase)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else if (result.size() < page.getPageSize()) {
+                    result.add(id);
+                } else {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] findContaining(String token) {
+        long[] result = new long[0];
+        for (String term : findTermsContaining(token)) {
+            result = LongPostingList.union(result, terms.get(term).toArray());
+        }
+        return result;
+    }
+
+    private Collection<String> findTermsContaining(String token) {
+        Set<String> smallest = null;
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            Set<String> candidates = grams.get(token.substring(i, i + GRAM_LENGTH));
+            if (candidates == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || candidates.size() < smallest.size()) {
+                smallest = candidates;
+            }
+        }
+        return smallest.stream()
+                .filter(term -> term.contains(token))
+                .toList();
+    }
+
+    private void apply(IndexedItem document) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem previous = documents.put(document.id(), document);
+            if (previous != null) {
+                unlink(previous);
+            }
+            for (String token : document.tokens()) {
+                LongPostingList postings = terms.get(token);
+                if (postings == null) {
+                    postings = new LongPostingList();
+                    terms.put(token, postings);
+                    linkGrams(token);
+                }
+                postings.add(document.id());
+            }
+            owners.computeIfAbsent(document.ownerId(), key -> new LongPostingList()).add(document.id());
+            if (document.available()) {
+                available.add(document.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            IndexedItem document = documents.remove(itemId);
+            if (document != null) {
+                unlink(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeOwner(long ownerId, List<Long> requestedItemIds) {
+        lock.writeLock().lock();
+        try {
+            LongPostingList own = owners.get(ownerId);
+            if (own != null) {
+                for (long itemId : own.toArray()) {
+                    unlink(documents.remove(itemId));
+                }
+            }
+            for (long itemId : requestedItemIds) {
+                IndexedItem document = documents.remove(itemId);
+                if (document != null) {
+                    unlink(document);
+                }
+            }
+            log.info("Из индекса поиска удалены сущности Item владельца и его запросов id={}", ownerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlink(IndexedItem document) {
+        for (String token : document.tokens()) {
+            LongPostingList postings = terms.get(token);
+            postings.remove(document.id());
+            if (postings.isEmpty()) {
+                terms.remove(token);
+                unlinkGrams(token);
+            }
+        }
+        LongPostingList own = owners.get(document.ownerId());
+        own.remove(document.id());
+        if (own.isEmpty()) {
+            owners.remove(document.ownerId());
+        }
+        available.remove(document.id());
+    }
+
+    private void linkGrams(String term) {
+        for (String gram : grams(term)) {
+            grams.computeIfAbsent(gram, key -> new HashSet<>()).add(term);
+        }
+    }
+
+    private void unlinkGrams(String term) {
+        for (String gram : grams(term)) {
+            Set<String> linked = grams.get(gram);
+            linked.remove(term);
+            if (linked.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String term) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            result.add(term.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new HashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isTokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isTokenChar && start < 0) {
+                start = i;
+            } else if (!isTokenChar && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private record IndexedItem(long id, long ownerId, boolean available, String name, String description) {
+        static IndexedItem of(Item item) {
+            return new IndexedItem(
+                    item.getId(),
+                    item.getOwner().getId(),
+                    Boolean.TRUE.equals(item.getAvailable()),
+                    item.getName().toLowerCase(Locale.ROOT),
+                    item.getDescription() != null ? item.getDescription().toLowerCase(Locale.ROOT) : ""
+            );
+        }
+
+        boolean contains(String phrase) {
+            return name.contains(phrase) || description.contains(phrase);
+        }
+
+        Set<String> tokens() {
+            Set<String> tokens = tokenize(name);
+            tokens.addAll(tokenize(description));
+            return tokens;
+        }
+    }
+}
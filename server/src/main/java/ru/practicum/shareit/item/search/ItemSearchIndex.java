@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.entity.Item;
+
+import java.util.List;
+
+public interface ItemSearchIndex {
+    List<Item> search(long userId, String text, Pageable page);
+
+    default void index(Item item) {
+    }
+
+    default void unindexOwner(long ownerId) {
+    }
+}
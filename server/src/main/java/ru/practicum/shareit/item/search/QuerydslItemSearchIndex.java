@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.search;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.entity.QItem;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "shareit.search", name = "engine", havingValue = "like")
+public class QuerydslItemSearchIndex implements ItemSearchIndex {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(long userId, String text, Pageable page) {
+        BooleanExpression search = QItem.item.owner.id.ne(userId)
+                .and(QItem.item.available.isTrue())
+                .and(QItem.item.name.containsIgnoreCase(text)
+                        .or(QItem.item.description.containsIgnoreCase(text)));
+        return itemRepository.findSlice(search, page).getContent();
+    }
+}
@@ -2,7 +2,10 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -12,12 +15,20 @@ public interface ItemService {
 
     ItemResponseDetailsDto getById(Long itemId, long userId);
 
-    List<ItemResponseDto> getAllById(long ownerId, int from, int size);
+    List<ItemResponseDetailsDto> getAllById(long ownerId, int from, int size);
+
+    CursorPage<ItemResponseDetailsDto> getAllById(long ownerId, Cursor cursor, int size);
 
     List<ItemResponseDto> search(long userId, String text, int from, int size);
 
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
     Item findItemOrThrow(Long itemId);
 
+    ItemSummary findSummaryOrThrow(long itemId);
+
+    Item getReference(long itemId);
+
     CommentResponseDto addComment(Long itemId, long authorId, CommentInputDto dto);
 
     boolean hasUserAnyItems(long ownerId);
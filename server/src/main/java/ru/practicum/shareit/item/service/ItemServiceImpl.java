@@ -1,35 +1,42 @@
 package ru.practicum.shareit.item.service;
 
-import com.querydsl.core.types.dsl.BooleanExpression;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.ItemNearestBookings;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.entity.Comment;
 import ru.practicum.shareit.item.entity.Item;
-import ru.practicum.shareit.item.entity.QItem;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.entity.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.time.Period;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.config.CacheConfig.ITEMS_CACHE;
 import static ru.practicum.shareit.exception.errors.ErrorMessage.*;
 
 @Service
@@ -37,11 +44,16 @@ import static ru.practicum.shareit.exception.errors.ErrorMessage.*;
 @Transactional(readOnly = true)
 @Slf4j
 public class ItemServiceImpl implements ItemService {
+    private static final Period DEFAULT_AVAILABILITY_PERIOD = Period.ofDays(30);
+    private static final Period MAX_AVAILABILITY_PERIOD = Period.ofYears(1);
+
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemRequestService requestService;
+    private final ItemSearchIndex searchIndex;
+    private final BookingAvailabilityIndex availabilityIndex;
 
     @Override
     @Transactional
@@ -51,12 +63,14 @@ public class ItemServiceImpl implements ItemService {
                 ? requestService.findItemRequestOrThrow(dto.getRequestId())
                 : null;
         Item item = itemRepository.save(ItemMapper.toEntity(dto, owner, request));
+        searchIndex.index(item);
         log.info("Добавлена сущность Item: {}", item);
         return ItemMapper.toDto(item);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = ITEMS_CACHE, key = "#itemId")
     public ItemResponseDto update(Long itemId, long userId, ItemInputDto dto) {
         Item item = findItemOrThrow(itemId);
         if (!isOwnerItem(item, userId)) {
@@ -64,6 +78,8 @@ public class ItemServiceImpl implements ItemService {
             throw new AccessDeniedException(ONLY_OWNER_MODIFY);
         }
         updateFields(item, dto);
+        flushItem(item);
+        searchIndex.index(item);
         log.info("Обновлена сущность Item: {}", item);
         return ItemMapper.toDto(item);
     }
@@ -71,19 +87,31 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ItemResponseDetailsDto getById(Long itemId, long userId) {
         Item item = findItemOrThrow(itemId);
-        LocalDateTime last = findNearestBooking(item, userId, false);
-        LocalDateTime next = findNearestBooking(item, userId, true);
+        LocalDateTime now = LocalDateTime.now();
+        boolean isOwner = isOwnerItem(item, userId);
+        LocalDateTime last = isOwner ? bookingRepository.findLastBookingStart(itemId, now).orElse(null) : null;
+        LocalDateTime next = isOwner ? bookingRepository.findNextBookingStart(itemId, now).orElse(null) : null;
         log.info("Возвращена сущность Item: {}", item);
         return ItemMapper.toDetailsDto(item, last, next);
     }
 
     @Override
-    public List<ItemResponseDto> getAllById(long ownerId, int from, int size) {
-        User owner = userService.findUserOrThrow(ownerId);
+    public List<ItemResponseDetailsDto> getAllById(long ownerId, int from, int size) {
+        userService.requireExists(ownerId);
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        List<Item> result = itemRepository.findAllByOwner_Id(owner.getId(), page).getContent();
+        List<Item> result = itemRepository.findAllByOwner_Id(ownerId, page).getContent();
         log.info("Возвращен список в размере {} сущностей Item пользователя id={}", result.size(), ownerId);
-        return ItemMapper.toDto(result);
+        return toDetailsDto(result);
+    }
+
+    @Override
+    public CursorPage<ItemResponseDetailsDto> getAllById(long ownerId, Cursor cursor, int size) {
+        userService.requireExists(ownerId);
+        List<Item> result = itemRepository.findAllByOwner_IdAndIdGreaterThanOrderByIdAsc(ownerId,
+                cursor != null ? cursor.id() : 0L, CursorPage.limit(size));
+        CursorPage<Item> page = CursorPage.of(result, size, item -> new Cursor(null, item.getId()));
+        log.info("Возвращен список в размере {} сущностей Item пользователя id={}", page.content().size(), ownerId);
+        return page.map(this::toDetailsDto);
     }
 
     @Override
@@ -92,21 +120,48 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        BooleanExpression search = QItem.item.owner.id.ne(userId)
-                .and(QItem.item.available.isTrue())
-                .and(QItem.item.name.containsIgnoreCase(text)
-                        .or(QItem.item.description.containsIgnoreCase(text)));
-        List<Item> result = itemRepository.findAll(search, page).getContent();
+        List<Item> result = searchIndex.search(userId, text, page);
         log.info("Возвращен список в размере {} найденных сущностей Item пользователю id={}", result.size(), userId);
         return ItemMapper.toDto(result);
     }
 
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plus(DEFAULT_AVAILABILITY_PERIOD);
+        if (!start.isBefore(end) || start.plus(MAX_AVAILABILITY_PERIOD).isBefore(end)) {
+            log.warn("Запрошен некорректный период доступности вещи id={}: {} - {}", itemId, start, end);
+            throw new ValidationException(AVAILABILITY_RANGE_INCORRECT);
+        }
+        Item item = findItemOrThrow(itemId);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(item.getId())
+                .from(start)
+                .to(end)
+                .busy(availabilityIndex.findBusyWindows(item.getId(), start, end))
+                .free(availabilityIndex.findFreeWindows(item.getId(), start, end))
+                .build();
+        log.info("Возвращена доступность вещи id={} за период {} - {}", itemId, start, end);
+        return availability;
+    }
+
     @Override
     public Item findItemOrThrow(Long itemId) {
         return itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND));
     }
 
+    @Override
+    @Cacheable(cacheNames = ITEMS_CACHE, key = "#itemId")
+    public ItemSummary findSummaryOrThrow(long itemId) {
+        return ItemMapper.toSummary(findItemOrThrow(itemId));
+    }
+
+    @Override
+    public Item getReference(long itemId) {
+        return itemRepository.getReferenceById(itemId);
+    }
+
     @Override
     @Transactional
     public CommentResponseDto addComment(Long itemId, long authorId, CommentInputDto dto) {
@@ -130,18 +185,42 @@ public class ItemServiceImpl implements ItemService {
         return Objects.equals(item.getOwner().getId(), ownerId);
     }
 
+    private void flushItem(Item item) {
+        try {
+            itemRepository.saveAndFlush(item);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Сущность Item id={} изменена параллельным запросом: {}", item.getId(), e.getMessage());
+            throw new ConflictException(ITEM_MODIFIED_CONCURRENTLY);
+        }
+    }
+
     private void updateFields(Item entity, ItemInputDto dto) {
         Optional.ofNullable(dto.getName()).ifPresent(entity::setName);
         Optional.ofNullable(dto.getDescription()).ifPresent(entity::setDescription);
         Optional.ofNullable(dto.getAvailable()).ifPresent(entity::setAvailable);
     }
 
-    private LocalDateTime findNearestBooking(Item item, long userId, boolean isStart) {
-        return isOwnerItem(item, userId)
-                ? bookingRepository.findNearestBooking(item.getId(), isStart)
-                .map(Booking::getStart)
-                .orElse(null)
-                : null;
+    private List<ItemResponseDetailsDto> toDetailsDto(List<Item> items) {
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .toList();
+        Map<Long, ItemNearestBookings> bookings = bookingRepository.findNearestBookings(itemIds, LocalDateTime.now())
+                .stream()
+                .collect(Collectors.toMap(ItemNearestBookings::getItemId, Function.identity()));
+        Map<Long, List<Comment>> comments = commentRepository.findAllByItem_IdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        return items.stream()
+                .map(item -> {
+                    ItemNearestBookings nearest = bookings.get(item.getId());
+                    return ItemMapper.toDetailsDto(item,
+                            nearest != null ? nearest.getLastBooking() : null,
+                            nearest != null ? nearest.getNextBooking() : null,
+                            comments.getOrDefault(item.getId(), Collections.emptyList()));
+                })
+                .toList();
     }
 
     private boolean isUserCompletedBooking(Long itemId, long userId) {
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.pagination;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static ru.practicum.shareit.exception.errors.ErrorMessage.CURSOR_INCORRECT;
+
+public record Cursor(LocalDateTime position, long id) {
+    private static final String SEPARATOR = "|";
+
+    public static Cursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException(CURSOR_INCORRECT);
+            }
+            String position = decoded.substring(0, separator);
+            return new Cursor(
+                    position.isEmpty() ? null : LocalDateTime.parse(position),
+                    Long.parseLong(decoded.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException(CURSOR_INCORRECT);
+        }
+    }
+
+    public String encode() {
+        String value = (position != null ? position.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static ru.practicum.shareit.exception.errors.ErrorMessage.HEADER_NEXT_CURSOR;
+import static ru.practicum.shareit.exception.errors.ErrorMessage.PAGE_SIZE_INCORRECT;
+
+public record CursorPage<T>(List<T> content, Cursor next) {
+    public static Limit limit(int size) {
+        if (size < 1) {
+            throw new ValidationException(PAGE_SIZE_INCORRECT);
+        }
+        return Limit.of(size + 1);
+    }
+
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Cursor> cursor) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursor.apply(content.getLast()));
+    }
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> mapper) {
+        return new CursorPage<>(mapper.apply(content), next);
+    }
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (next != null) {
+            response.header(HEADER_NEXT_CURSOR, next.encode());
+        }
+        return response.body(content);
+    }
+}
@@ -4,6 +4,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestInputDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDetailsDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -32,8 +35,14 @@ public class ItemRequestController {
     @GetMapping
     public ResponseEntity<List<ItemRequestResponseDetailsDto>> getOwn(@RequestHeader(HEADER_USER_ID) long userId,
                                                                       @RequestParam(defaultValue = "0") int from,
-                                                                      @RequestParam(defaultValue = "10") int size) {
+                                                                      @RequestParam(defaultValue = "10") int size,
+                                                                      @RequestParam(required = false) String cursor) {
         log.info("Request get own itemRequests by user id={}", userId);
+        if (cursor != null) {
+            CursorPage<ItemRequestResponseDetailsDto> page = service.getOwnItemRequests(userId, Cursor.decode(cursor), size);
+            log.info("Returned list of size {}", page.content().size());
+            return page.toResponse();
+        }
         List<ItemRequestResponseDetailsDto> responseDetailsDtos = service.getOwnItemRequests(userId, from, size);
         log.info("Returned list of size {}", responseDetailsDtos.size());
         return ResponseEntity.ok(responseDetailsDtos);
@@ -42,8 +51,14 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<List<ItemRequestResponseDto>> getOthers(@RequestHeader(HEADER_USER_ID) long userId,
                                                                   @RequestParam(defaultValue = "0") int from,
-                                                                  @RequestParam(defaultValue = "10") int size) {
+                                                                  @RequestParam(defaultValue = "10") int size,
+                                                                  @RequestParam(required = false) String cursor) {
         log.info("Request get others itemRequests by user id={}", userId);
+        if (cursor != null) {
+            CursorPage<ItemRequestResponseDto> page = service.getOthersItemRequests(userId, Cursor.decode(cursor), size);
+            log.info("Returned list of size {}", page.content().size());
+            return page.toResponse();
+        }
         List<ItemRequestResponseDto> responseDtos = service.getOthersItemRequests(userId, from, size);
         log.info("Returned list of size {}", responseDtos.size());
         return ResponseEntity.ok(responseDtos);
@@ -55,6 +70,8 @@ public class ItemRequestController {
         log.info("Request get itemRequest id={} by user id={}", requestId, userId);
         ItemRequestResponseDetailsDto responseDetailsDto = service.getById(requestId);
         log.info("Returned itemRequest: {}", responseDetailsDto);
-        return ResponseEntity.ok(responseDetailsDto);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(responseDetailsDto))
+                .body(responseDetailsDto);
     }
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.mapper;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.item.entity.Item;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.dto.ItemRequestInputDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDetailsDto;
@@ -11,6 +12,7 @@ import ru.practicum.shareit.user.entity.User;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -38,11 +40,15 @@ public final class ItemRequestMapper {
     }
 
     public static ItemRequestResponseDetailsDto toDetailsDto(ItemRequest entity) {
+        return toDetailsDto(entity, entity.getItems());
+    }
+
+    public static ItemRequestResponseDetailsDto toDetailsDto(ItemRequest entity, Collection<Item> items) {
         return ItemRequestResponseDetailsDto.builder()
                 .id(entity.getId())
                 .description(entity.getDescription())
                 .created(entity.getCreated())
-                .items(new ArrayList<>(entity.getItems().stream()
+                .items(new ArrayList<>(items.stream()
                         .map(ItemMapper::toDto)
                         .toList()
                 ))
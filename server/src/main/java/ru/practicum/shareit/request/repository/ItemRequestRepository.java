@@ -1,12 +1,46 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.entity.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    Page<ItemRequest> findAllByRequestorIdOrderByCreatedDesc(long requestorId, Pageable page);
+    Slice<ItemRequest> findAllByRequestorIdOrderByCreatedDesc(long requestorId, Pageable page);
+
+    Slice<ItemRequest> findAllByRequestorIdNotOrderByCreatedDesc(long requestorId, Pageable page);
+
+    List<ItemRequest> findAllByRequestorIdOrderByCreatedDescIdDesc(long requestorId, Limit limit);
+
+    List<ItemRequest> findAllByRequestorIdNotOrderByCreatedDescIdDesc(long requestorId, Limit limit);
+
+    @Query("""
+            SELECT r
+            FROM ItemRequest r
+            WHERE r.requestor.id = :requestorId
+                AND (r.created < :created OR (r.created = :created AND r.id < :id))
+            ORDER BY r.created DESC, r.id DESC
+            """)
+    List<ItemRequest> findNextByRequestorId(@Param("requestorId") long requestorId,
+                                            @Param("created") LocalDateTime created,
+                                            @Param("id") long id,
+                                            Limit limit);
 
-    Page<ItemRequest> findAllByRequestorIdNotOrderByCreatedDesc(long requestorId, Pageable page);
+    @Query("""
+            SELECT r
+            FROM ItemRequest r
+            WHERE r.requestor.id <> :requestorId
+                AND (r.created < :created OR (r.created = :created AND r.id < :id))
+            ORDER BY r.created DESC, r.id DESC
+            """)
+    List<ItemRequest> findNextByRequestorIdNot(@Param("requestorId") long requestorId,
+                                               @Param("created") LocalDateTime created,
+                                               @Param("id") long id,
+                                               Limit limit);
 }
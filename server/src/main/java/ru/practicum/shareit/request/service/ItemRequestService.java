@@ -1,5 +1,7 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestInputDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDetailsDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -14,6 +16,10 @@ public interface ItemRequestService {
 
     List<ItemRequestResponseDto> getOthersItemRequests(long requestorId, int from, int size);
 
+    CursorPage<ItemRequestResponseDetailsDto> getOwnItemRequests(long requestorId, Cursor cursor, int size);
+
+    CursorPage<ItemRequestResponseDto> getOthersItemRequests(long requestorId, Cursor cursor, int size);
+
     ItemRequestResponseDetailsDto getById(Long requestId);
 
     ItemRequest findItemRequestOrThrow(Long requestId);
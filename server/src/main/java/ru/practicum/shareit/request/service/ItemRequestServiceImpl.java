@@ -2,10 +2,16 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestInputDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDetailsDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -15,8 +21,13 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import static ru.practicum.shareit.exception.errors.ErrorMessage.CURSOR_INCORRECT;
 import static ru.practicum.shareit.exception.errors.ErrorMessage.REQUEST_NOT_FOUND;
 
 @Service
@@ -25,6 +36,7 @@ import static ru.practicum.shareit.exception.errors.ErrorMessage.REQUEST_NOT_FOU
 @Slf4j
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository repository;
+    private final ItemRepository itemRepository;
     private final UserService userService;
 
     @Override
@@ -38,22 +50,46 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestResponseDetailsDto> getOwnItemRequests(long requestorId, int from, int size) {
-        User requestor = userService.findUserOrThrow(requestorId);
+        userService.requireExists(requestorId);
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        List<ItemRequest> result = repository.findAllByRequestorIdOrderByCreatedDesc(requestor.getId(), page).getContent();
+        List<ItemRequest> result = repository.findAllByRequestorIdOrderByCreatedDesc(requestorId, page).getContent();
         log.info("Возвращен список в размере {} сущностей ItemRequest пользователя id={}", result.size(), requestorId);
-        return ItemRequestMapper.toDetailsDto(result);
+        return toDetailsDto(result);
     }
 
     @Override
     public List<ItemRequestResponseDto> getOthersItemRequests(long requestorId, int from, int size) {
-        User requestor = userService.findUserOrThrow(requestorId);
+        userService.requireExists(requestorId);
         PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        List<ItemRequest> result = repository.findAllByRequestorIdNotOrderByCreatedDesc(requestor.getId(), page).getContent();
+        List<ItemRequest> result = repository.findAllByRequestorIdNotOrderByCreatedDesc(requestorId, page).getContent();
         log.info("Возвращен список в размере {} сущностей ItemRequest всех пользователей, кроме id={}", result.size(), requestorId);
         return ItemRequestMapper.toDto(result);
     }
 
+    @Override
+    public CursorPage<ItemRequestResponseDetailsDto> getOwnItemRequests(long requestorId, Cursor cursor, int size) {
+        userService.requireExists(requestorId);
+        Limit limit = CursorPage.limit(size);
+        List<ItemRequest> result = cursor == null
+                ? repository.findAllByRequestorIdOrderByCreatedDescIdDesc(requestorId, limit)
+                : repository.findNextByRequestorId(requestorId, requirePosition(cursor), cursor.id(), limit);
+        CursorPage<ItemRequest> page = CursorPage.of(result, size, ItemRequestServiceImpl::toCursor);
+        log.info("Возвращен список в размере {} сущностей ItemRequest пользователя id={}", page.content().size(), requestorId);
+        return page.map(this::toDetailsDto);
+    }
+
+    @Override
+    public CursorPage<ItemRequestResponseDto> getOthersItemRequests(long requestorId, Cursor cursor, int size) {
+        userService.requireExists(requestorId);
+        Limit limit = CursorPage.limit(size);
+        List<ItemRequest> result = cursor == null
+                ? repository.findAllByRequestorIdNotOrderByCreatedDescIdDesc(requestorId, limit)
+                : repository.findNextByRequestorIdNot(requestorId, requirePosition(cursor), cursor.id(), limit);
+        CursorPage<ItemRequest> page = CursorPage.of(result, size, ItemRequestServiceImpl::toCursor);
+        log.info("Возвращен список в размере {} сущностей ItemRequest всех пользователей, кроме id={}", page.content().size(), requestorId);
+        return page.map(ItemRequestMapper::toDto);
+    }
+
     @Override
     public ItemRequestResponseDetailsDto getById(Long requestId) {
         ItemRequest itemRequest = repository.findById(requestId)
@@ -67,4 +103,31 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return repository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException(REQUEST_NOT_FOUND));
     }
+
+    private List<ItemRequestResponseDetailsDto> toDetailsDto(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .toList();
+        Map<Long, List<Item>> items = itemRepository.findAllByRequest_IdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+        return requests.stream()
+                .map(request -> ItemRequestMapper.toDetailsDto(request,
+                        items.getOrDefault(request.getId(), Collections.emptyList())))
+                .toList();
+    }
+
+    private LocalDateTime requirePosition(Cursor cursor) {
+        if (cursor.position() == null) {
+            log.warn("Попытка указать курсор без позиции при просмотре запросов");
+            throw new ValidationException(CURSOR_INCORRECT);
+        }
+        return cursor.position();
+    }
+
+    private static Cursor toCursor(ItemRequest itemRequest) {
+        return new Cursor(itemRequest.getCreated(), itemRequest.getId());
+    }
 }
@@ -0,0 +1,4 @@
+package ru.practicum.shareit.user.dto;
+
+public record UserSummary(long id, String name, String email) {
+}
@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import ru.practicum.shareit.user.dto.UserInputDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.dto.UserSummary;
 import ru.practicum.shareit.user.entity.User;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -22,4 +23,16 @@ public final class UserMapper {
                 .email(entity.getEmail())
                 .build();
     }
+
+    public static UserResponseDto toDto(UserSummary summary) {
+        return UserResponseDto.builder()
+                .id(summary.id())
+                .name(summary.name())
+                .email(summary.email())
+                .build();
+    }
+
+    public static UserSummary toSummary(User entity) {
+        return new UserSummary(entity.getId(), entity.getName(), entity.getEmail());
+    }
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.dto.UserInputDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.dto.UserSummary;
 import ru.practicum.shareit.user.entity.User;
 
 public interface UserService {
@@ -14,4 +15,10 @@ public interface UserService {
     void delete(Long userId);
 
     User findUserOrThrow(Long userId);
+
+    UserSummary findSummaryOrThrow(long userId);
+
+    User getReference(long userId);
+
+    void requireExists(long userId);
 }
@@ -2,18 +2,26 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserInputDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.dto.UserSummary;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.Optional;
 
+import static ru.practicum.shareit.config.CacheConfig.ITEMS_CACHE;
+import static ru.practicum.shareit.config.CacheConfig.USERS_CACHE;
 import static ru.practicum.shareit.exception.errors.ErrorMessage.EMAIL_ALREADY_EXISTS;
 import static ru.practicum.shareit.exception.errors.ErrorMessage.USER_NOT_FOUND;
 
@@ -23,6 +31,8 @@ import static ru.practicum.shareit.exception.errors.ErrorMessage.USER_NOT_FOUND;
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
+    private final ItemSearchIndex searchIndex;
+    private final BookingAvailabilityIndex availabilityIndex;
 
     @Override
     @Transactional
@@ -35,6 +45,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = USERS_CACHE, key = "#userId")
     public UserResponseDto update(Long userId, UserInputDto dto) {
         User user = findUserOrThrow(userId);
         updateFields(user, dto);
@@ -51,8 +62,14 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = USERS_CACHE, key = "#userId"),
+            @CacheEvict(cacheNames = ITEMS_CACHE, allEntries = true)
+    })
     public void delete(Long userId) {
         User user = findUserOrThrow(userId);
+        availabilityIndex.evictUser(userId);
+        searchIndex.unindexOwner(userId);
         repository.delete(user);
         log.info("Удалена сущность User: {}", user);
     }
@@ -63,6 +80,24 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
     }
 
+    @Override
+    @Cacheable(cacheNames = USERS_CACHE, key = "#userId")
+    public UserSummary findSummaryOrThrow(long userId) {
+        return UserMapper.toSummary(findUserOrThrow(userId));
+    }
+
+    @Override
+    public User getReference(long userId) {
+        return repository.getReferenceById(userId);
+    }
+
+    @Override
+    public void requireExists(long userId) {
+        if (!repository.existsById(userId)) {
+            throw new NotFoundException(USER_NOT_FOUND);
+        }
+    }
+
     private void validateEmail(String email) {
         if (repository.existsByEmail(email)) {
             log.warn("Попытка повторно зарегистрировать на почтовый адрес - {}", email);
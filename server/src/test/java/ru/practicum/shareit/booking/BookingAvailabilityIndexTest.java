@@ -0,0 +1,152 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.availability.TimeWindow;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.user.entity.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingAvailabilityIndexTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 8, 1, 0, 0, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingAvailabilityIndex index;
+
+    private Item item;
+    private Booking morningBooking;
+    private Booking eveningBooking;
+
+    @BeforeEach
+    void setUp() {
+        User owner = User.builder()
+                .id(1L)
+                .name("Owner")
+                .email("mail@box.com")
+                .build();
+        item = Item.builder()
+                .id(1L)
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .owner(owner)
+                .request(null)
+                .comments(Collections.emptyList())
+                .build();
+        morningBooking = booking(1L, DAY.plusHours(8), DAY.plusHours(12));
+        eveningBooking = booking(2L, DAY.plusHours(18), DAY.plusHours(22));
+
+        when(bookingRepository.findAllByItem_IdAndStatusIn(item.getId(), BookingAvailabilityIndex.OCCUPYING_STATUSES))
+                .thenReturn(List.of(morningBooking, eveningBooking));
+
+        index = new BookingAvailabilityIndex(bookingRepository, 100, Duration.ofHours(1));
+    }
+
+    @Test
+    void isFree_whenIntervalOverlapsBooking_thenFalse() {
+        assertThat(index.isFree(item.getId(), DAY.plusHours(11), DAY.plusHours(13)), is(false));
+        assertThat(index.isFree(item.getId(), DAY.plusHours(7), DAY.plusHours(23)), is(false));
+    }
+
+    @Test
+    void isFree_whenIntervalTouchesBookings_thenTrue() {
+        assertThat(index.isFree(item.getId(), DAY.plusHours(12), DAY.plusHours(18)), is(true));
+    }
+
+    @Test
+    void isFree_whenQueriedRepeatedly_thenTimelineLoadedOnce() {
+        index.isFree(item.getId(), DAY, DAY.plusHours(1));
+        index.isFree(item.getId(), DAY.plusHours(1), DAY.plusHours(2));
+
+        verify(bookingRepository, times(1)).findAllByItem_IdAndStatusIn(anyLong(), anyCollection());
+    }
+
+    @Test
+    void reserve_whenIntervalOccupied_thenConflictExceptionThrown() {
+        Booking overlapping = booking(3L, DAY.plusHours(10), DAY.plusHours(14));
+
+        assertThrows(ConflictException.class, () -> index.reserve(overlapping));
+    }
+
+    @Test
+    void reserve_whenIntervalFree_thenOccupied() {
+        index.reserve(booking(3L, DAY.plusHours(13), DAY.plusHours(15)));
+
+        assertThat(index.isFree(item.getId(), DAY.plusHours(14), DAY.plusHours(16)), is(false));
+    }
+
+    @Test
+    void release_whenBookingRejected_thenIntervalFree() {
+        index.release(morningBooking);
+
+        assertThat(index.isFree(item.getId(), DAY.plusHours(9), DAY.plusHours(11)), is(true));
+    }
+
+    @Test
+    void evictUser_whenBookerDeleted_thenTimelineReloaded() {
+        index.isFree(item.getId(), DAY, DAY.plusHours(1));
+        when(bookingRepository.findItemIdsAffectedByUser(2L)).thenReturn(List.of(item.getId()));
+        when(bookingRepository.findAllByItem_IdAndStatusIn(item.getId(), BookingAvailabilityIndex.OCCUPYING_STATUSES))
+                .thenReturn(List.of(eveningBooking));
+
+        index.evictUser(2L);
+
+        assertThat(index.isFree(item.getId(), DAY.plusHours(9), DAY.plusHours(11)), is(true));
+        verify(bookingRepository, times(2)).findAllByItem_IdAndStatusIn(anyLong(), anyCollection());
+    }
+
+    @Test
+    void findFreeWindows_whenRangeCoversBookings_thenReturnedGaps() {
+        List<TimeWindow> windows = index.findFreeWindows(item.getId(), DAY.plusHours(10), DAY.plusDays(1));
+
+        assertThat(windows, contains(
+                new TimeWindow(DAY.plusHours(12), DAY.plusHours(18)),
+                new TimeWindow(DAY.plusHours(22), DAY.plusDays(1))
+        ));
+    }
+
+    @Test
+    void findBusyWindows_whenBookingsAdjacent_thenMergedAndClipped() {
+        index.reserve(booking(3L, DAY.plusHours(12), DAY.plusHours(14)));
+
+        List<TimeWindow> windows = index.findBusyWindows(item.getId(), DAY.plusHours(10), DAY.plusHours(20));
+
+        assertThat(windows, contains(
+                new TimeWindow(DAY.plusHours(10), DAY.plusHours(14)),
+                new TimeWindow(DAY.plusHours(18), DAY.plusHours(20))
+        ));
+    }
+
+    private Booking booking(long id, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .id(id)
+                .start(start)
+                .end(end)
+                .item(item)
+                .status(BookingStatus.WAITING)
+                .build();
+    }
+}
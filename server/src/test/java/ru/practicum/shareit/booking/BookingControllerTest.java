@@ -7,14 +7,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 
 import java.time.LocalDateTime;
@@ -23,8 +29,11 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.exception.errors.ErrorMessage.HEADER_NEXT_CURSOR;
 import static ru.practicum.shareit.exception.errors.ErrorMessage.HEADER_USER_ID;
 
 @WebMvcTest(BookingController.class)
@@ -109,6 +118,43 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.item").isNotEmpty());
     }
 
+    @Test
+    @SneakyThrows
+    void approveAll() {
+        long userId = 1L;
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true), new BookingDecisionDto(2L, false));
+        List<BookingDecisionResultDto> results = List.of(
+                new BookingDecisionResultDto(1L, BookingStatus.APPROVED, true, null),
+                new BookingDecisionResultDto(2L, BookingStatus.APPROVED, false, "error")
+        );
+        when(service.approveAll(userId, decisions)).thenReturn(results);
+
+        mvc.perform(patch("/bookings/approve")
+                        .header(HEADER_USER_ID, userId)
+                        .content(mapper.writeValueAsString(decisions))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId", is(1L), Long.class))
+                .andExpect(jsonPath("$[0].applied", is(true)))
+                .andExpect(jsonPath("$[1].applied", is(false)))
+                .andExpect(jsonPath("$[1].error", is("error")));
+    }
+
+    @Test
+    @SneakyThrows
+    void cancel() {
+        Long bookingId = 1L;
+        long userId = 2L;
+        response.setStatus(BookingStatus.CANCELED);
+        when(service.cancel(bookingId, userId)).thenReturn(response);
+
+        mvc.perform(patch("/bookings/" + bookingId + "/cancel")
+                        .header(HEADER_USER_ID, userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(response.getId()), Long.class))
+                .andExpect(jsonPath("$.status", is(BookingStatus.CANCELED.name())));
+    }
+
     @Test
     @SneakyThrows
     void getById() {
@@ -124,7 +170,24 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.end").isNotEmpty())
                 .andExpect(jsonPath("$.status", is(response.getStatus().name())))
                 .andExpect(jsonPath("$.booker").isNotEmpty())
-                .andExpect(jsonPath("$.item").isNotEmpty());
+                .andExpect(jsonPath("$.item").isNotEmpty())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(response)));
+    }
+
+    @Test
+    @SneakyThrows
+    void getById_whenIfNoneMatchEqualsETag_thenNotModified() {
+        Long bookingId = 1L;
+        long userId = 2L;
+        when(service.getById(bookingId, userId)).thenReturn(response);
+        String eTag = ETags.of(response);
+
+        mvc.perform(get("/bookings/" + bookingId)
+                        .header(HEADER_USER_ID, userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
     }
 
     @Test
@@ -155,4 +218,31 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id", is(response.getId()), Long.class));
     }
+
+    @Test
+    @SneakyThrows
+    void getBookingsByOwner_whenCursorPassed_thenReturnedNextCursorHeader() {
+        long userId = 1L;
+        String state = "ALL";
+        Cursor next = new Cursor(response.getStart(), response.getId());
+        when(service.getBookingsByOwner(userId, state, null, 1))
+                .thenReturn(new CursorPage<>(List.of(response), next));
+
+        mvc.perform(get("/bookings/owner")
+                        .header(HEADER_USER_ID, userId)
+                        .param("size", "1")
+                        .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HEADER_NEXT_CURSOR, next.encode()))
+                .andExpect(jsonPath("$[0].id", is(response.getId()), Long.class));
+    }
+
+    @Test
+    @SneakyThrows
+    void getBookingsByUser_whenCursorMalformed_thenBadRequest() {
+        mvc.perform(get("/bookings")
+                        .header(HEADER_USER_ID, 2L)
+                        .param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
 }
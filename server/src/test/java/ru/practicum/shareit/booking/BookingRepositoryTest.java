@@ -1,10 +1,28 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.ItemNearestBookings;
 import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.entity.QBooking;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.entity.Item;
@@ -12,12 +30,17 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.*;
 
 @DataJpaTest
 class BookingRepositoryTest {
@@ -30,6 +53,18 @@ class BookingRepositoryTest {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CapturingStatementInspector statementInspector;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User user;
     private Item item;
     private Booking firstBooking;
@@ -37,6 +72,7 @@ class BookingRepositoryTest {
 
     @BeforeEach
     void setUp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         user = userRepository.save(User.builder()
                 .id(1L)
                 .name("Name user")
@@ -45,7 +81,6 @@ class BookingRepositoryTest {
         );
 
         item = itemRepository.save(Item.builder()
-                .id(1L)
                 .name("Name item")
                 .description("specification item")
                 .available(true)
@@ -56,17 +91,15 @@ class BookingRepositoryTest {
         );
 
         firstBooking = bookingRepository.save(Booking.builder()
-                .id(1L)
-                .start(LocalDateTime.now().minusDays(2))
-                .end(LocalDateTime.now().minusDays(1))
+                .start(now.minusDays(2))
+                .end(now.minusDays(1))
                 .item(item)
                 .booker(user)
                 .status(BookingStatus.APPROVED)
                 .build());
         secondBooking = bookingRepository.save(Booking.builder()
-                .id(2L)
-                .start(LocalDateTime.now().plusDays(1))
-                .end(LocalDateTime.now().plusDays(2))
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
                 .item(item)
                 .booker(user)
                 .status(BookingStatus.APPROVED)
@@ -94,24 +127,303 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findNearestBooking_whenBookingFoundAndNotIsStart_thenReturnedLastBooking() {
-        Optional<Booking> result = bookingRepository.findNearestBooking(item.getId(), false);
+    void updateWaitingStatus_whenOwnerAndWaiting_thenStatusAndVersionUpdatedOnce() {
+        Booking waiting = bookingRepository.saveAndFlush(Booking.builder()
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        int first = bookingRepository.updateWaitingStatus(waiting.getId(), user.getId(), BookingStatus.APPROVED);
+        int second = bookingRepository.updateWaitingStatus(waiting.getId(), user.getId(), BookingStatus.REJECTED);
+        Booking result = bookingRepository.findById(waiting.getId()).orElseThrow();
+
+        assertThat(first, equalTo(1));
+        assertThat(second, equalTo(0));
+        assertThat(result.getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(result.getVersion(), equalTo(waiting.getVersion() + 1));
+    }
+
+    @Test
+    void updateWaitingStatus_whenUserNotOwner_thenNotUpdated() {
+        User another = userRepository.save(User.builder()
+                .name("Another user")
+                .email("another@box.com")
+                .build());
+        Booking waiting = bookingRepository.saveAndFlush(Booking.builder()
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .item(item)
+                .booker(another)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        int result = bookingRepository.updateWaitingStatus(waiting.getId(), another.getId(), BookingStatus.APPROVED);
+
+        assertThat(result, equalTo(0));
+        assertThat(bookingRepository.findById(waiting.getId()).orElseThrow().getStatus(), equalTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void updateWaitingStatuses_whenSeveralIdsPassed_thenUpdatedOnlyWaiting() {
+        Booking waiting = bookingRepository.saveAndFlush(Booking.builder()
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.WAITING)
+                .build());
+        List<Long> ids = List.of(firstBooking.getId(), waiting.getId());
+
+        List<Booking> locked = bookingRepository.findAllByIdIn(ids);
+        int result = bookingRepository.updateWaitingStatuses(ids, user.getId(), BookingStatus.REJECTED);
+
+        assertThat(locked, hasSize(2));
+        assertThat(result, equalTo(1));
+        assertThat(bookingRepository.findById(waiting.getId()).orElseThrow().getStatus(), equalTo(BookingStatus.REJECTED));
+        assertThat(bookingRepository.findById(firstBooking.getId()).orElseThrow().getStatus(), equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void findItemIdsAffectedByUser_whenUserOwnsOrBooksItems_thenReturnedThoseItems() {
+        User another = userRepository.save(User.builder()
+                .name("Another user")
+                .email("another@box.com")
+                .build());
+        Item anotherItem = itemRepository.save(Item.builder()
+                .name("Another item")
+                .description("specification another item")
+                .available(true)
+                .owner(another)
+                .build());
+        bookingRepository.saveAndFlush(Booking.builder()
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .item(item)
+                .booker(another)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        List<Long> ownerItems = bookingRepository.findItemIdsAffectedByUser(user.getId());
+        List<Long> bookerItems = bookingRepository.findItemIdsAffectedByUser(another.getId());
+
+        assertThat(ownerItems, contains(item.getId()));
+        assertThat(bookerItems, containsInAnyOrder(item.getId(), anotherItem.getId()));
+    }
+
+    @Test
+    void updateNotStartedStatus_whenBookingStarted_thenNotCanceled() {
+        int started = bookingRepository.updateNotStartedStatus(firstBooking.getId(), user.getId(), LocalDateTime.now(),
+                BookingStatus.CANCELED);
+        int notStarted = bookingRepository.updateNotStartedStatus(secondBooking.getId(), user.getId(), LocalDateTime.now(),
+                BookingStatus.CANCELED);
+
+        assertThat(started, equalTo(0));
+        assertThat(notStarted, equalTo(1));
+        assertThat(bookingRepository.findById(secondBooking.getId()).orElseThrow().getStatus(), equalTo(BookingStatus.CANCELED));
+    }
+
+    @Test
+    void findAllByStatusAndStartBefore_whenWaitingStarted_thenReturnedOnlyStale() {
+        Booking stale = bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusHours(2))
+                .end(LocalDateTime.now().plusHours(2))
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.WAITING)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        List<Booking> result = bookingRepository.findAllByStatusAndStartBeforeOrderByStartAsc(
+                BookingStatus.WAITING, LocalDateTime.now(), Limit.of(10));
+
+        assertThat(result, contains(stale));
+    }
+
+    @Test
+    void findAllAsDto_whenBookerStatePlanned_thenUsedBookerStatusStartIndex() {
+        String plan = explain(() -> bookingRepository.findAllAsDto(
+                QBooking.booking.booker.id.eq(user.getId()).and(QBooking.booking.status.eq(BookingStatus.WAITING)),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"))));
+
+        assertThat(plan, containsStringIgnoringCase("idx_bookings_booker_status_start"));
+    }
+
+    @Test
+    void findAllByStatusAndStartBefore_whenPlanned_thenUsedStatusStartIndex() {
+        String plan = explain(() -> bookingRepository.findAllByStatusAndStartBeforeOrderByStartAsc(
+                BookingStatus.WAITING, LocalDateTime.now(), Limit.of(500)));
 
-        assertThat(result, equalTo(Optional.of(firstBooking)));
+        assertThat(plan, containsStringIgnoringCase("idx_bookings_status_start"));
     }
 
     @Test
-    void findNearestBooking_whenBookingFoundAndIsStart_thenReturnedNextBooking() {
-        Optional<Booking> result = bookingRepository.findNearestBooking(item.getId(), true);
+    void findLastBookingStart_whenBookingFound_thenReturnedLastBooking() {
+        Optional<LocalDateTime> result = bookingRepository.findLastBookingStart(item.getId(), LocalDateTime.now());
 
-        assertThat(result, equalTo(Optional.of(secondBooking)));
+        assertThat(result, equalTo(Optional.of(firstBooking.getStart())));
     }
 
     @Test
-    void findNearestBooking_whenBookingNotFound_thenReturnedNull() {
+    void findNextBookingStart_whenBookingFound_thenReturnedNextBooking() {
+        Optional<LocalDateTime> result = bookingRepository.findNextBookingStart(item.getId(), LocalDateTime.now());
+
+        assertThat(result, equalTo(Optional.of(secondBooking.getStart())));
+    }
+
+    @Test
+    void findNextBookingStart_whenBookingNotFound_thenReturnedEmpty() {
         bookingRepository.delete(secondBooking);
-        Optional<Booking> result = bookingRepository.findNearestBooking(item.getId(), true);
+        Optional<LocalDateTime> result = bookingRepository.findNextBookingStart(item.getId(), LocalDateTime.now());
 
         assertThat(result, equalTo(Optional.empty()));
     }
+
+    @Test
+    void findNextBookingStart_whenPlanned_thenUsedItemStatusStartIndex() {
+        String plan = explain(() -> bookingRepository.findNextBookingStart(item.getId(), LocalDateTime.now()));
+
+        assertThat(plan, containsStringIgnoringCase("idx_bookings_item_status_start"));
+    }
+
+    @Test
+    void findLastBookingStart_whenPlanned_thenUsedItemStatusEndIndex() {
+        String plan = explain(() -> bookingRepository.findLastBookingStart(item.getId(), LocalDateTime.now()));
+
+        assertThat(plan, containsStringIgnoringCase("idx_bookings_item_status_end"));
+    }
+
+    @Test
+    void findNearestBookings_whenBookingsFound_thenReturnedLastAndNextPerItem() {
+        Item emptyItem = itemRepository.save(Item.builder()
+                .name("Empty item")
+                .description("specification empty item")
+                .available(true)
+                .owner(user)
+                .request(null)
+                .comments(Collections.emptyList())
+                .build()
+        );
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(5))
+                .end(LocalDateTime.now().minusDays(4))
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.APPROVED)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .item(item)
+                .booker(user)
+                .status(BookingStatus.APPROVED)
+                .build());
+
+        List<ItemNearestBookings> result = bookingRepository.findNearestBookings(
+                List.of(item.getId(), emptyItem.getId()),
+                LocalDateTime.now());
+
+        assertThat(result, hasSize(1));
+        assertThat(result.getFirst().getItemId(), equalTo(item.getId()));
+        assertThat(result.getFirst().getLastBooking(), equalTo(firstBooking.getStart()));
+        assertThat(result.getFirst().getNextBooking(), equalTo(secondBooking.getStart()));
+    }
+
+    @Test
+    void findAllAsDto_whenBookingsFound_thenReturnedProjectionsSortedByStart() {
+        List<BookingResponseDto> result = bookingRepository.findAllAsDto(
+                QBooking.booking.booker.id.eq(user.getId()),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start")));
+
+        assertThat(result, contains(BookingMapper.toDto(secondBooking), BookingMapper.toDto(firstBooking)));
+    }
+
+    @Test
+    void findAllAsDto_whenPageRequested_thenReturnedOnlyPage() {
+        List<BookingResponseDto> result = bookingRepository.findAllAsDto(
+                QBooking.booking.item.owner.id.eq(user.getId()),
+                PageRequest.of(1, 1, Sort.by(Sort.Direction.DESC, "start")));
+
+        assertThat(result, contains(BookingMapper.toDto(firstBooking)));
+    }
+
+    private String explain(Runnable query) {
+        entityManager.flush();
+        List<String> statements = statementInspector.capture(query);
+        assertThat(statements, hasSize(1));
+        TransactionTemplate committed = new TransactionTemplate(transactionManager);
+        committed.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        committed.executeWithoutResult(status -> seedBookings());
+        try {
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statements.getFirst());
+                     ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            });
+        } finally {
+            committed.executeWithoutResult(status ->
+                    jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'seed%@box.com'"));
+        }
+    }
+
+    private void seedBookings() {
+        jdbcTemplate.update("INSERT INTO users (name, email) "
+                + "SELECT 'seed ' || x, 'seed' || x || '@box.com' FROM SYSTEM_RANGE(1, 50)");
+        jdbcTemplate.update("INSERT INTO items (name, description, is_available, owner_id) "
+                + "SELECT 'seed ' || u.name, 'specification', TRUE, u.id FROM users u WHERE u.email LIKE 'seed%@box.com'");
+        jdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                + "SELECT DATEADD(DAY, MOD(x, 30) - 15, CURRENT_TIMESTAMP), "
+                + "DATEADD(DAY, MOD(x, 30) - 14, CURRENT_TIMESTAMP), i.id, i.owner_id, "
+                + "CASE MOD(x, 4) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' "
+                + "WHEN 2 THEN 'REJECTED' ELSE 'CANCELED' END "
+                + "FROM items i JOIN users u ON u.id = i.owner_id CROSS JOIN SYSTEM_RANGE(1, 40) "
+                + "WHERE u.email LIKE 'seed%@box.com'");
+    }
+
+    static class CapturingStatementInspector implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+        private volatile boolean capturing;
+
+        List<String> capture(Runnable query) {
+            statements.clear();
+            capturing = true;
+            try {
+                query.run();
+            } finally {
+                capturing = false;
+            }
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (capturing) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        CapturingStatementInspector statementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
 }
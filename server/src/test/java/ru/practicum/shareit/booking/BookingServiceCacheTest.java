@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingInputDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.config.CacheConfig.ITEMS_CACHE;
+import static ru.practicum.shareit.config.CacheConfig.USERS_CACHE;
+
+@DataJpaTest
+@Import({BookingServiceImpl.class, ItemServiceImpl.class, UserServiceImpl.class, CacheConfig.class,
+        BookingServiceCacheTest.Config.class})
+class BookingServiceCacheTest {
+    @Autowired
+    private BookingService service;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private ItemRequestService requestService;
+
+    @MockBean
+    private ItemSearchIndex searchIndex;
+
+    @MockBean
+    private BookingAvailabilityIndex availabilityIndex;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        User owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("ownermail@box.com")
+                .build()
+        );
+        booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("bookermail@box.com")
+                .build()
+        );
+        item = itemRepository.save(Item.builder()
+                .name("Item")
+                .description("specification item")
+                .available(true)
+                .owner(owner)
+                .build()
+        );
+        entityManager.flush();
+        entityManager.clear();
+        when(availabilityIndex.isFree(any(Long.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+    }
+
+    @Test
+    void create_whenUserAndItemCached_thenOnlyBookingInserted() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        service.create(booker.getId(), bookingInput(start));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(3L));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        BookingResponseDto response = service.create(booker.getId(), bookingInput(start.plusDays(2)));
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+        assertThat(response.getBooker().getName(), equalTo("Booker"));
+        assertThat(response.getItem().getName(), equalTo("Item"));
+        assertThat(response.getItem().getOwnerId(), equalTo(item.getOwner().getId()));
+    }
+
+    private BookingInputDto bookingInput(LocalDateTime start) {
+        return BookingInputDto.builder()
+                .start(start)
+                .end(start.plusDays(1))
+                .itemId(item.getId())
+                .build();
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(USERS_CACHE, ITEMS_CACHE);
+        }
+    }
+}
@@ -8,10 +8,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingInputDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.entity.Booking;
@@ -20,22 +21,29 @@ import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.exception.errors.ErrorMessage.*;
 
 @Slf4j
 @ExtendWith(MockitoExtension.class)
@@ -49,6 +57,9 @@ class BookingServiceImplTest {
     @Mock
     private ItemServiceImpl itemService;
 
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
     @InjectMocks
     private BookingServiceImpl service;
 
@@ -118,8 +129,11 @@ class BookingServiceImplTest {
                 .itemId(1L)
                 .build();
         Booking booking = BookingMapper.toEntity(dto, someUser, availableItem);
-        when(userService.findUserOrThrow(userId)).thenReturn(someUser);
-        when(itemService.findItemOrThrow(1L)).thenReturn(availableItem);
+        when(userService.findSummaryOrThrow(userId)).thenReturn(UserMapper.toSummary(someUser));
+        when(itemService.findSummaryOrThrow(1L)).thenReturn(ItemMapper.toSummary(availableItem));
+        when(userService.getReference(userId)).thenReturn(someUser);
+        when(itemService.getReference(1L)).thenReturn(availableItem);
+        when(availabilityIndex.isFree(1L, dto.getStart(), dto.getEnd())).thenReturn(true);
         when(repository.save(any(Booking.class))).thenReturn(booking);
 
         BookingResponseDto response = service.create(userId, dto);
@@ -130,9 +144,27 @@ class BookingServiceImplTest {
         assertThat(response.getItem().getId(), equalTo(dto.getItemId()));
         assertThat(response.getBooker().getId(), equalTo(userId));
         assertThat(response.getStatus(), equalTo(BookingStatus.WAITING));
-        verify(userService, times(1)).findUserOrThrow(anyLong());
-        verify(itemService, times(1)).findItemOrThrow(anyLong());
+        verify(userService, times(1)).findSummaryOrThrow(anyLong());
+        verify(itemService, times(1)).findSummaryOrThrow(anyLong());
         verify(repository).save(any(Booking.class));
+        verify(availabilityIndex).reserve(booking);
+    }
+
+    @Test
+    void create_whenItemAlreadyBooked_thenConflictExceptionThrown() {
+        long userId = 2L;
+        BookingInputDto dto = BookingInputDto.builder()
+                .start(LocalDateTime.of(2025, 7, 29, 5, 0, 0))
+                .end(LocalDateTime.of(2025, 7, 29, 15, 0, 0))
+                .itemId(1L)
+                .build();
+        when(userService.findSummaryOrThrow(userId)).thenReturn(UserMapper.toSummary(someUser));
+        when(itemService.findSummaryOrThrow(1L)).thenReturn(ItemMapper.toSummary(availableItem));
+        when(availabilityIndex.isFree(1L, dto.getStart(), dto.getEnd())).thenReturn(false);
+
+        assertThrows(ConflictException.class, () -> service.create(userId, dto));
+        verify(repository, never()).save(any(Booking.class));
+        verify(availabilityIndex, never()).reserve(any(Booking.class));
     }
 
     @Test
@@ -156,12 +188,12 @@ class BookingServiceImplTest {
                 .end(LocalDateTime.of(2025, 8, 10, 12, 0, 0))
                 .itemId(2L)
                 .build();
-        when(userService.findUserOrThrow(userId)).thenReturn(someUser);
-        when(itemService.findItemOrThrow(2L)).thenReturn(bookedItem);
+        when(userService.findSummaryOrThrow(userId)).thenReturn(UserMapper.toSummary(someUser));
+        when(itemService.findSummaryOrThrow(2L)).thenReturn(ItemMapper.toSummary(bookedItem));
 
         assertThrows(ValidationException.class, () -> service.create(userId, dto));
-        verify(userService, times(1)).findUserOrThrow(anyLong());
-        verify(itemService, times(1)).findItemOrThrow(anyLong());
+        verify(userService, times(1)).findSummaryOrThrow(anyLong());
+        verify(itemService, times(1)).findSummaryOrThrow(anyLong());
         verify(repository, never()).save(any(Booking.class));
     }
 
@@ -169,48 +201,227 @@ class BookingServiceImplTest {
     void approve_whenRequestTrue_thenSetStatusApproved() {
         Long bookingId = 2L;
         long userId = 1L;
-        when(repository.findById(bookingId)).thenReturn(Optional.of(secondBooking));
+        when(repository.updateWaitingStatus(bookingId, userId, BookingStatus.APPROVED)).thenReturn(1);
+        when(repository.findAsDto(bookingId))
+                .thenReturn(Optional.of(BookingMapper.toDto(secondBooking.toBuilder().status(BookingStatus.APPROVED).build())));
 
         BookingResponseDto response = service.approve(bookingId, userId, true);
 
         assertThat(response.getId(), equalTo(secondBooking.getId()));
         assertThat(response.getStatus(), equalTo(BookingStatus.APPROVED));
-        verify(repository, times(1)).findById(anyLong());
+        verify(repository, times(1)).findAsDto(anyLong());
+        verify(repository, never()).findById(anyLong());
+        verify(availabilityIndex, never()).release(anyLong(), anyLong(), any());
     }
 
     @Test
     void approve_whenRequestFalse_thenSetStatusRejected() {
         Long bookingId = 2L;
         long userId = 1L;
-        when(repository.findById(bookingId)).thenReturn(Optional.of(secondBooking));
+        Booking rejected = secondBooking.toBuilder().status(BookingStatus.REJECTED).build();
+        when(repository.updateWaitingStatus(bookingId, userId, BookingStatus.REJECTED)).thenReturn(1);
+        when(repository.findAsDto(bookingId)).thenReturn(Optional.of(BookingMapper.toDto(rejected)));
+
         BookingResponseDto response = service.approve(bookingId, userId, false);
 
         assertThat(response.getId(), equalTo(secondBooking.getId()));
         assertThat(response.getStatus(), equalTo(BookingStatus.REJECTED));
-        verify(repository, times(1)).findById(anyLong());
+        verify(repository, times(1)).findAsDto(anyLong());
+        verify(availabilityIndex).release(availableItem.getId(), rejected.getId(), rejected.getStart());
     }
 
     @Test
-    void approve_whenRequestNotWaitingStatus_thenValidationExceptionThrown() {
+    void approve_whenRequestNotWaitingStatus_thenConflictExceptionThrown() {
         Long bookingId = 2L;
         long userId = 1L;
         secondBooking.setStatus(BookingStatus.CANCELED);
+        when(repository.updateWaitingStatus(bookingId, userId, BookingStatus.APPROVED)).thenReturn(0);
         when(repository.findById(bookingId)).thenReturn(Optional.of(secondBooking));
 
-        assertThrows(ValidationException.class, () -> service.approve(bookingId, userId, true));
+        assertThrows(ConflictException.class, () -> service.approve(bookingId, userId, true));
         verify(repository, times(1)).findById(anyLong());
     }
 
+    @Test
+    void approve_whenAlreadyApproved_thenConflictExceptionThrown() {
+        Long bookingId = 2L;
+        long userId = 1L;
+        secondBooking.setStatus(BookingStatus.APPROVED);
+        when(repository.updateWaitingStatus(bookingId, userId, BookingStatus.APPROVED)).thenReturn(0);
+        when(repository.findById(bookingId)).thenReturn(Optional.of(secondBooking));
+
+        assertThrows(ConflictException.class, () -> service.approve(bookingId, userId, true));
+        verify(availabilityIndex, never()).release(anyLong(), anyLong(), any());
+    }
+
     @Test
     void approve_whenRequestNotOwnerId_thenAccessDeniedExceptionThrown() {
         Long bookingId = 2L;
         long userId = 2L;
+        when(repository.updateWaitingStatus(bookingId, userId, BookingStatus.APPROVED)).thenReturn(0);
         when(repository.findById(bookingId)).thenReturn(Optional.of(secondBooking));
 
         assertThrows(AccessDeniedException.class, () -> service.approve(bookingId, userId, true));
         verify(repository, times(1)).findById(anyLong());
     }
 
+    @Test
+    void approveAll_whenDecisionsMixed_thenAppliedOnlyToOwnWaitingBookings() {
+        long userId = 1L;
+        Booking thirdBooking = secondBooking.toBuilder()
+                .id(3L)
+                .start(LocalDateTime.of(2025, 7, 30, 12, 0, 0))
+                .end(LocalDateTime.of(2025, 7, 30, 20, 0, 0))
+                .build();
+        List<BookingDecisionDto> decisions = List.of(
+                new BookingDecisionDto(2L, true),
+                new BookingDecisionDto(3L, false),
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(10L, true)
+        );
+        when(repository.findAllByIdIn(Set.of(2L, 3L, 1L, 10L)))
+                .thenReturn(List.of(firstBooking, secondBooking, thirdBooking));
+        when(repository.updateWaitingStatuses(List.of(2L), userId, BookingStatus.APPROVED)).thenReturn(1);
+        when(repository.updateWaitingStatuses(List.of(3L), userId, BookingStatus.REJECTED)).thenReturn(1);
+
+        List<BookingDecisionResultDto> results = service.approveAll(userId, decisions);
+
+        assertThat(results, contains(
+                new BookingDecisionResultDto(2L, BookingStatus.APPROVED, true, null),
+                new BookingDecisionResultDto(3L, BookingStatus.REJECTED, true, null),
+                new BookingDecisionResultDto(1L, BookingStatus.APPROVED, false, ONLY_STATUS_WAITING_APPROVED),
+                new BookingDecisionResultDto(10L, null, false, BOOKING_NOT_FOUND)
+        ));
+        verify(repository).updateWaitingStatuses(List.of(2L), userId, BookingStatus.APPROVED);
+        verify(repository).updateWaitingStatuses(List.of(3L), userId, BookingStatus.REJECTED);
+        verify(availabilityIndex).release(thirdBooking);
+    }
+
+    @Test
+    void approveAll_whenUpdatedLessThanAccepted_thenConflictExceptionThrown() {
+        long userId = 1L;
+        Booking thirdBooking = secondBooking.toBuilder()
+                .id(3L)
+                .start(LocalDateTime.of(2025, 7, 30, 12, 0, 0))
+                .end(LocalDateTime.of(2025, 7, 30, 20, 0, 0))
+                .build();
+        when(repository.findAllByIdIn(Set.of(2L, 3L))).thenReturn(List.of(secondBooking, thirdBooking));
+        when(repository.updateWaitingStatuses(List.of(2L, 3L), userId, BookingStatus.REJECTED)).thenReturn(1);
+
+        assertThrows(ConflictException.class, () -> service.approveAll(userId,
+                List.of(new BookingDecisionDto(2L, false), new BookingDecisionDto(3L, false))));
+        verify(availabilityIndex, never()).release(any());
+    }
+
+    @Test
+    void approveAll_whenUserNotOwner_thenNothingUpdated() {
+        long userId = 2L;
+        when(repository.findAllByIdIn(Set.of(2L))).thenReturn(List.of(secondBooking));
+
+        List<BookingDecisionResultDto> results = service.approveAll(userId, List.of(new BookingDecisionDto(2L, true)));
+
+        assertThat(results, contains(new BookingDecisionResultDto(2L, null, false, ONLY_OWNER_APPROVED)));
+        verify(repository, never()).updateWaitingStatuses(anyCollection(), anyLong(), any());
+    }
+
+    @Test
+    void approveAll_whenBookingIdDuplicated_thenValidationExceptionThrown() {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(2L, true), new BookingDecisionDto(2L, false));
+
+        assertThrows(ValidationException.class, () -> service.approveAll(1L, decisions));
+        verify(repository, never()).findAllByIdIn(anyCollection());
+    }
+
+    @Test
+    void approveAll_whenDecisionIncomplete_thenValidationExceptionThrown() {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(2L, null));
+
+        assertThrows(ValidationException.class, () -> service.approveAll(1L, decisions));
+        verify(repository, never()).findAllByIdIn(anyCollection());
+    }
+
+    @Test
+    void approveAll_whenDecisionNull_thenValidationExceptionThrown() {
+        List<BookingDecisionDto> decisions = Collections.singletonList(null);
+
+        assertThrows(ValidationException.class, () -> service.approveAll(1L, decisions));
+        verify(repository, never()).findAllByIdIn(anyCollection());
+    }
+
+    @Test
+    void cancel_whenBookerAndNotStarted_thenSetStatusCanceled() {
+        Long bookingId = 2L;
+        long userId = 2L;
+        Booking canceled = secondBooking.toBuilder().status(BookingStatus.CANCELED).build();
+        when(repository.updateNotStartedStatus(eq(bookingId), eq(userId), any(LocalDateTime.class), eq(BookingStatus.CANCELED)))
+                .thenReturn(1);
+        when(repository.findById(bookingId)).thenReturn(Optional.of(canceled));
+
+        BookingResponseDto response = service.cancel(bookingId, userId);
+
+        assertThat(response.getStatus(), equalTo(BookingStatus.CANCELED));
+        verify(availabilityIndex).release(canceled);
+    }
+
+    @Test
+    void cancel_whenUserNotBooker_thenAccessDeniedExceptionThrown() {
+        Long bookingId = 2L;
+        long userId = 1L;
+        when(repository.findById(bookingId)).thenReturn(Optional.of(secondBooking));
+
+        assertThrows(AccessDeniedException.class, () -> service.cancel(bookingId, userId));
+        verify(availabilityIndex, never()).release(any());
+    }
+
+    @Test
+    void cancel_whenBookingStartedOrDecided_thenConflictExceptionThrown() {
+        Long bookingId = 1L;
+        long userId = 2L;
+        when(repository.findById(bookingId)).thenReturn(Optional.of(firstBooking));
+
+        assertThrows(ConflictException.class, () -> service.cancel(bookingId, userId));
+        verify(availabilityIndex, never()).release(any());
+    }
+
+    @Test
+    void expireStaleWaiting_whenStaleFound_thenRejectedAndReleased() {
+        LocalDateTime now = LocalDateTime.of(2025, 7, 30, 0, 0, 0);
+        when(repository.findAllByStatusAndStartBeforeOrderByStartAsc(BookingStatus.WAITING, now, Limit.of(10)))
+                .thenReturn(List.of(secondBooking));
+        when(repository.updateWaitingStatuses(List.of(secondBooking.getId()), BookingStatus.REJECTED)).thenReturn(1);
+
+        int result = service.expireStaleWaiting(now, 10);
+
+        assertThat(result, equalTo(1));
+        verify(availabilityIndex).release(secondBooking);
+    }
+
+    @Test
+    void expireStaleWaiting_whenFewerRowsUpdated_thenConflictAndNothingReleased() {
+        LocalDateTime now = LocalDateTime.of(2025, 7, 30, 0, 0, 0);
+        Booking thirdBooking = secondBooking.toBuilder().id(3L).build();
+        when(repository.findAllByStatusAndStartBeforeOrderByStartAsc(BookingStatus.WAITING, now, Limit.of(10)))
+                .thenReturn(List.of(secondBooking, thirdBooking));
+        when(repository.updateWaitingStatuses(List.of(2L, 3L), BookingStatus.REJECTED)).thenReturn(1);
+
+        ConflictException e = assertThrows(ConflictException.class, () -> service.expireStaleWaiting(now, 10));
+
+        assertThat(e.getMessage(), equalTo(BOOKING_MODIFIED_CONCURRENTLY));
+        verify(availabilityIndex, never()).release(any());
+    }
+
+    @Test
+    void expireStaleWaiting_whenNothingStale_thenNothingUpdated() {
+        LocalDateTime now = LocalDateTime.of(2025, 7, 30, 0, 0, 0);
+        when(repository.findAllByStatusAndStartBeforeOrderByStartAsc(BookingStatus.WAITING, now, Limit.of(10)))
+                .thenReturn(Collections.emptyList());
+
+        int result = service.expireStaleWaiting(now, 10);
+
+        assertThat(result, equalTo(0));
+        verify(repository, never()).updateWaitingStatuses(anyCollection(), any(BookingStatus.class));
+    }
+
     @Test
     void getById_whenBookerId_thenReturnedBooking() {
         Long bookingId = 1L;
@@ -249,61 +460,80 @@ class BookingServiceImplTest {
     void getBookingsByUser_whenUserFound_thenReturnedCollection() {
         long userId = 2L;
         String state = "FUTURE";
-        Pageable pageable = PageRequest.of(0, 10);
-        List<Booking> requests = List.of(secondBooking, firstBooking);
-        Page<Booking> page = new PageImpl<>(requests, pageable, requests.size());
-        when(userService.findUserOrThrow(userId)).thenReturn(someUser);
-        when(repository.findAll(any(BooleanExpression.class), any(Pageable.class))).thenReturn(page);
+        List<BookingResponseDto> bookings = BookingMapper.toDto(List.of(secondBooking, firstBooking));
+        when(repository.findAllAsDto(any(BooleanExpression.class), any(Pageable.class))).thenReturn(bookings);
 
         List<BookingResponseDto> response = service.getBookingsByUser(userId, state, 0, 10);
 
         assertThat(response, hasSize(2));
         assertThat(response.getFirst(), equalTo(BookingMapper.toDto(secondBooking)));
         assertThat(response, hasItem(BookingMapper.toDto(firstBooking)));
-        verify(userService, times(1)).findUserOrThrow(anyLong());
-        verify(repository, times(1)).findAll(any(BooleanExpression.class), any(Pageable.class));
+        verify(userService, times(1)).requireExists(anyLong());
+        verify(repository, times(1)).findAllAsDto(any(BooleanExpression.class), any(Pageable.class));
     }
 
     @Test
     void getBookingsByUser_whenNotValidState_thenValidationExceptionThrown() {
         long userId = 2L;
         String state = "CURRENT AND FUTURE";
-        when(userService.findUserOrThrow(userId)).thenReturn(someUser);
 
         assertThrows(ValidationException.class, () -> service.getBookingsByUser(userId, state, 0, 10));
-        verify(repository, never()).findAll(any(BooleanExpression.class), any(Pageable.class));
+        verify(repository, never()).findAllAsDto(any(BooleanExpression.class), any(Pageable.class));
+    }
+
+    @Test
+    void getBookingsByUser_whenCursorPageSizeZero_thenValidationExceptionThrown() {
+        assertThrows(ValidationException.class, () -> service.getBookingsByUser(2L, "ALL", (Cursor) null, 0));
+        verify(repository, never()).findAllAsDto(any(BooleanExpression.class), any(Pageable.class));
     }
 
     @Test
     void getBookingsByOwner_whenOwnerFound_thenReturnedCollection() {
         long userId = 1;
         String state = "Waiting";
-        Pageable pageable = PageRequest.of(0, 10);
-        List<Booking> requests = List.of(secondBooking);
-        Page<Booking> page = new PageImpl<>(requests, pageable, requests.size());
-        when(userService.findUserOrThrow(userId)).thenReturn(ownerUser);
+        List<BookingResponseDto> bookings = BookingMapper.toDto(List.of(secondBooking));
         when(itemService.hasUserAnyItems(userId)).thenReturn(true);
-        when(repository.findAll(any(BooleanExpression.class), any(Pageable.class))).thenReturn(page);
+        when(repository.findAllAsDto(any(BooleanExpression.class), any(Pageable.class))).thenReturn(bookings);
 
         List<BookingResponseDto> response = service.getBookingsByOwner(userId, state, 0, 10);
 
         assertThat(response, hasSize(1));
         assertThat(response, hasItem(BookingMapper.toDto(secondBooking)));
-        verify(userService, times(1)).findUserOrThrow(anyLong());
+        verify(userService, times(1)).requireExists(anyLong());
         verify(itemService, times(1)).hasUserAnyItems(anyLong());
-        verify(repository, times(1)).findAll(any(BooleanExpression.class), any(Pageable.class));
+        verify(repository, times(1)).findAllAsDto(any(BooleanExpression.class), any(Pageable.class));
     }
 
     @Test
     void getBookingsByOwner_whenOwnerNotFound_thenAccessDeniedExceptionThrown() {
         long userId = 2;
         String state = "ALL";
-        when(userService.findUserOrThrow(userId)).thenReturn(someUser);
         when(itemService.hasUserAnyItems(userId)).thenReturn(false);
 
         assertThrows(AccessDeniedException.class, () -> service.getBookingsByOwner(userId, state, 0, 10));
-        verify(userService, times(1)).findUserOrThrow(anyLong());
+        verify(userService, times(1)).requireExists(anyLong());
         verify(itemService, times(1)).hasUserAnyItems(anyLong());
-        verify(repository, never()).findAll(any(BooleanExpression.class), any(Pageable.class));
+        verify(repository, never()).findAllAsDto(any(BooleanExpression.class), any(Pageable.class));
+    }
+
+    @Test
+    void getBookingsByUser_whenMoreThanPageFound_thenReturnedNextCursor() {
+        long userId = 2L;
+        List<BookingResponseDto> bookings = BookingMapper.toDto(List.of(secondBooking, firstBooking));
+        when(repository.findAllAsDto(any(BooleanExpression.class), any(Pageable.class))).thenReturn(bookings);
+
+        CursorPage<BookingResponseDto> response = service.getBookingsByUser(userId, "ALL", null, 1);
+
+        assertThat(response.content(), contains(BookingMapper.toDto(secondBooking)));
+        assertThat(response.next(), equalTo(new Cursor(secondBooking.getStart(), secondBooking.getId())));
+    }
+
+    @Test
+    void getBookingsByUser_whenCursorWithoutPosition_thenValidationExceptionThrown() {
+        long userId = 2L;
+
+        assertThrows(ValidationException.class,
+                () -> service.getBookingsByUser(userId, "ALL", new Cursor(null, 1L), 10));
+        verify(repository, never()).findAllAsDto(any(BooleanExpression.class), any(Pageable.class));
     }
 }
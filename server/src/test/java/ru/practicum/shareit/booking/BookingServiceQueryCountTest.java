@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.entity.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Import(BookingServiceImpl.class)
+class BookingServiceQueryCountTest {
+    @Autowired
+    private BookingService service;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private ItemService itemService;
+
+    @MockBean
+    private BookingAvailabilityIndex availabilityIndex;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking booking;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MICROS);
+        owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("ownermail@box.com")
+                .build()
+        );
+        booker = userRepository.save(User.builder()
+                .name("Booker")
+                .email("bookermail@box.com")
+                .build()
+        );
+        item = itemRepository.save(Item.builder()
+                .name("Item")
+                .description("specification item")
+                .available(true)
+                .owner(owner)
+                .build()
+        );
+        booking = bookingRepository.save(Booking.builder()
+                .start(start)
+                .end(start.plusDays(1))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build()
+        );
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void approve_whenApproved_thenUpdateAndSingleJoinedSelect() {
+        BookingResponseDto response = service.approve(booking.getId(), owner.getId(), true);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+        assertThat(statistics.getEntityLoadCount(), equalTo(0L));
+        assertThat(response.getStatus(), equalTo(BookingStatus.APPROVED));
+        assertThat(response.getBooker().getName(), equalTo(booker.getName()));
+        assertThat(response.getItem().getName(), equalTo(item.getName()));
+        assertThat(response.getItem().getOwnerId(), equalTo(owner.getId()));
+    }
+
+    @Test
+    void approve_whenRejected_thenIntervalReleasedFromProjection() {
+        BookingResponseDto response = service.approve(booking.getId(), owner.getId(), false);
+
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+        assertThat(response.getStatus(), equalTo(BookingStatus.REJECTED));
+        verify(availabilityIndex).release(item.getId(), booking.getId(), booking.getStart());
+    }
+}
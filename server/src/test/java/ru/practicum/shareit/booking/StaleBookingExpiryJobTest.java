@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.lifecycle.StaleBookingExpiryJob;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StaleBookingExpiryJobTest {
+    @Mock
+    private BookingService bookingService;
+
+    @Test
+    void expireStaleWaiting_whenBatchesFull_thenRepeatedUntilPartialBatch() {
+        when(bookingService.expireStaleWaiting(any(LocalDateTime.class), eq(2))).thenReturn(2, 2, 1);
+
+        new StaleBookingExpiryJob(bookingService, 2).expireStaleWaiting();
+
+        verify(bookingService, times(3)).expireStaleWaiting(any(LocalDateTime.class), eq(2));
+    }
+
+    @Test
+    void expireStaleWaiting_whenNothingStale_thenSingleBatch() {
+        when(bookingService.expireStaleWaiting(any(LocalDateTime.class), eq(2))).thenReturn(0);
+
+        new StaleBookingExpiryJob(bookingService, 2).expireStaleWaiting();
+
+        verify(bookingService, times(1)).expireStaleWaiting(any(LocalDateTime.class), eq(2));
+    }
+}
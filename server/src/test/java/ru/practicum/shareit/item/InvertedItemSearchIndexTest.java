@@ -0,0 +1,195 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InvertedItemSearchIndex;
+import ru.practicum.shareit.user.entity.User;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvertedItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InvertedItemSearchIndex index;
+
+    private User someUser;
+    private Item drill;
+    private Item hammer;
+    private Item unavailableDrill;
+    private Item ownDrill;
+
+    @BeforeEach
+    void setUp() {
+        someUser = User.builder()
+                .id(1L)
+                .name("Some user")
+                .email("somemail@box.com")
+                .build();
+        User anotherUser = User.builder()
+                .id(2L)
+                .name("Another user")
+                .email("anothermail@box.com")
+                .build();
+
+        drill = item(1L, "Дрель", "Аккумуляторная дрель", true, anotherUser);
+        hammer = item(2L, "Молоток", "Тяжелый молоток", true, anotherUser);
+        unavailableDrill = item(3L, "Дрель ударная", "Сетевая", false, anotherUser);
+        ownDrill = item(4L, "Дрель", "Своя дрель", true, someUser);
+
+        when(itemRepository.findAllByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .thenReturn(List.of(drill, hammer));
+        when(itemRepository.findAllByIdGreaterThanOrderByIdAsc(2L, Limit.of(2)))
+                .thenReturn(List.of(unavailableDrill, ownDrill));
+        when(itemRepository.findAllByIdGreaterThanOrderByIdAsc(4L, Limit.of(2)))
+                .thenReturn(Collections.emptyList());
+
+        index = new InvertedItemSearchIndex(itemRepository, 2);
+        index.rebuild();
+    }
+
+    @Test
+    void rebuild_whenItemsStoredInPages_thenReadAllPages() {
+        verify(itemRepository, times(3)).findAllByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void search_whenTextContained_thenReturnedOnlyAvailableOthersItems() {
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(drill));
+
+        List<Item> result = index.search(someUser.getId(), "ДРЕЛ", PageRequest.of(0, 10));
+
+        assertThat(result, contains(drill));
+    }
+
+    @Test
+    void search_whenPhraseSpansWords_thenMatchedAsSubstring() {
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(drill));
+
+        List<Item> result = index.search(someUser.getId(), "ная дре", PageRequest.of(0, 10));
+
+        assertThat(result, contains(drill));
+    }
+
+    @Test
+    void search_whenTextNotContained_thenRepositoryNotQueried() {
+        List<Item> result = index.search(someUser.getId(), "пила", PageRequest.of(0, 10));
+
+        assertThat(result, empty());
+        verify(itemRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void index_whenItemUpdated_thenPostingsReplaced() {
+        hammer.setName("Дрель-молоток");
+        index.index(hammer);
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(hammer, drill));
+
+        List<Item> result = index.search(someUser.getId(), "дрель", PageRequest.of(0, 10));
+
+        assertThat(result, contains(drill, hammer));
+    }
+
+    @Test
+    void index_whenItemBecameUnavailable_thenExcludedFromSearch() {
+        drill.setAvailable(false);
+        index.index(drill);
+
+        List<Item> result = index.search(someUser.getId(), "дрель", PageRequest.of(0, 10));
+
+        assertThat(result, empty());
+    }
+
+    @Test
+    void search_whenAllTokensShorterThanGram_thenRepositoryNotQueried() {
+        List<Item> result = index.search(someUser.getId(), "ло", PageRequest.of(0, 10));
+
+        assertThat(result, empty());
+        verify(itemRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void search_whenPhraseHasNoLettersOrDigits_thenRepositoryNotQueried() {
+        List<Item> result = index.search(someUser.getId(), " - ", PageRequest.of(0, 10));
+
+        assertThat(result, empty());
+        verify(itemRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void search_whenPhraseHasShortAndLongTokens_thenCandidatesTakenFromLongTokens() {
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(drill));
+
+        List<Item> result = index.search(someUser.getId(), "я дрель", PageRequest.of(0, 10));
+
+        assertThat(result, contains(drill));
+    }
+
+    @Test
+    void search_whenTokenContainsUnknownGram_thenRepositoryNotQueried() {
+        List<Item> result = index.search(someUser.getId(), "дрельщик", PageRequest.of(0, 10));
+
+        assertThat(result, empty());
+        verify(itemRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void unindexOwner_whenOwnerDeleted_thenOwnerItemsExcluded() {
+        index.unindexOwner(2L);
+
+        List<Item> result = index.search(someUser.getId(), "дрель", PageRequest.of(0, 10));
+
+        assertThat(result, empty());
+    }
+
+    @Test
+    void unindexOwner_whenOwnerRequestsDeleted_thenRequestedItemsExcluded() {
+        when(itemRepository.findIdsByRequestorId(someUser.getId())).thenReturn(List.of(hammer.getId()));
+
+        index.unindexOwner(someUser.getId());
+
+        List<Item> result = index.search(3L, "молоток", PageRequest.of(0, 10));
+
+        assertThat(result, empty());
+        verify(itemRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void search_whenIndexedItemMissingInStorage_thenPageRefilled() {
+        Item secondDrill = item(5L, "Дрель", "Еще одна дрель", true, hammer.getOwner());
+        index.index(secondDrill);
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(Collections.emptyList());
+        when(itemRepository.findAllById(List.of(5L))).thenReturn(List.of(secondDrill));
+
+        List<Item> result = index.search(someUser.getId(), "дрель", PageRequest.of(0, 1));
+
+        assertThat(result, contains(secondDrill));
+    }
+
+    private Item item(long id, String name, String description, boolean available, User owner) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .request(null)
+                .comments(Collections.emptyList())
+                .build();
+    }
+}
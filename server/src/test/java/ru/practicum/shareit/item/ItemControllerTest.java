@@ -7,8 +7,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.availability.TimeWindow;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
@@ -20,6 +23,7 @@ import java.util.List;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.exception.errors.ErrorMessage.HEADER_USER_ID;
@@ -123,20 +127,85 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.ownerId", is(responseDetailsDto.getOwnerId()), Long.class))
                 .andExpect(jsonPath("$.lastBooking", is(responseDetailsDto.getLastBooking())))
                 .andExpect(jsonPath("$.nextBooking", is(responseDetailsDto.getNextBooking())))
-                .andExpect(jsonPath("$.comments", is(responseDetailsDto.getComments())));
+                .andExpect(jsonPath("$.comments", is(responseDetailsDto.getComments())))
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(responseDetailsDto)));
+    }
+
+    @Test
+    @SneakyThrows
+    void getById_whenETagChanged_thenReturnedFullBody() {
+        Long itemId = 1L;
+        long userId = 1L;
+        ItemResponseDetailsDto responseDetailsDto = ItemResponseDetailsDto.builder()
+                .id(1L)
+                .name("Test name item")
+                .description("Test description")
+                .available(true)
+                .ownerId(1L)
+                .comments(Collections.emptyList())
+                .build();
+        String staleETag = ETags.of(responseDetailsDto.toBuilder().name("Old name").build());
+        when(service.getById(itemId, userId)).thenReturn(responseDetailsDto);
+
+        mvc.perform(get("/items/" + itemId)
+                        .header(HEADER_USER_ID, userId)
+                        .header(HttpHeaders.IF_NONE_MATCH, staleETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(responseDetailsDto)))
+                .andExpect(jsonPath("$.name", is(responseDetailsDto.getName())));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAvailability() {
+        Long itemId = 1L;
+        long userId = 2L;
+        LocalDateTime from = LocalDateTime.of(2025, 8, 1, 0, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(List.of(new TimeWindow(from.plusHours(8), from.plusHours(12))))
+                .free(List.of(new TimeWindow(from, from.plusHours(8)), new TimeWindow(from.plusHours(12), to)))
+                .build();
+        when(service.getAvailability(itemId, from, to)).thenReturn(availability);
+
+        mvc.perform(get("/items/" + itemId + "/availability")
+                        .header(HEADER_USER_ID, userId)
+                        .param("from", "2025-08-01T00:00:00")
+                        .param("to", "2025-08-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(itemId), Long.class))
+                .andExpect(jsonPath("$.busy[0].start", is("2025-08-01T08:00:00")))
+                .andExpect(jsonPath("$.busy[0].end", is("2025-08-01T12:00:00")))
+                .andExpect(jsonPath("$.free[1].start", is("2025-08-01T12:00:00")));
     }
 
     @Test
     @SneakyThrows
     void getAllByUserId() {
         long userId = 1L;
-        when(service.getAllById(userId, 0, 10)).thenReturn(List.of(response));
+        ItemResponseDetailsDto responseDetailsDto = ItemResponseDetailsDto.builder()
+                .id(1L)
+                .name("Test name item")
+                .description("Test description")
+                .available(true)
+                .ownerId(1L)
+                .requestId(null)
+                .lastBooking(LocalDateTime.of(2025, 7, 29, 10, 0, 0))
+                .nextBooking(null)
+                .comments(Collections.emptyList())
+                .build();
+        when(service.getAllById(userId, 0, 10)).thenReturn(List.of(responseDetailsDto));
 
         mvc.perform(get("/items")
                         .header(HEADER_USER_ID, userId))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id", is(response.getId()), Long.class))
-                .andExpect(jsonPath("$[0].name", is(response.getName())));
+                .andExpect(jsonPath("$[0].id", is(responseDetailsDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].name", is(responseDetailsDto.getName())))
+                .andExpect(jsonPath("$[0].lastBooking", is("2025-07-29T10:00:00")))
+                .andExpect(jsonPath("$[0].nextBooking", is(responseDetailsDto.getNextBooking())));
     }
 
     @Test
@@ -6,11 +6,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.entity.QItem;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.QuerydslItemSearchIndex;
+import ru.practicum.shareit.request.entity.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -25,6 +32,9 @@ class ItemRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
     private User firstUser;
     private User secondUser;
     private Item firstItem;
@@ -47,7 +57,6 @@ class ItemRepositoryTest {
         );
 
         firstItem = itemRepository.save(Item.builder()
-                .id(1L)
                 .name("First item")
                 .description("specification first item")
                 .available(true)
@@ -57,7 +66,6 @@ class ItemRepositoryTest {
                 .build()
         );
         secondItem = itemRepository.save(Item.builder()
-                .id(2L)
                 .name("Second item")
                 .description("specification second item")
                 .available(false)
@@ -67,7 +75,6 @@ class ItemRepositoryTest {
                 .build()
         );
         anotherItem = itemRepository.save(Item.builder()
-                .id(3L)
                 .name("Some item")
                 .description("specification some item")
                 .available(true)
@@ -102,4 +109,55 @@ class ItemRepositoryTest {
         assertThat(result, hasItem(secondItem));
         assertThat(result, not(hasItem(anotherItem)));
     }
+
+    @Test
+    void search_whenTextContainedIgnoreCase_thenReturnedOnlyAvailableOthersItems() {
+        Pageable pageable = PageRequest.of(0, 10);
+        List<Item> result = new QuerydslItemSearchIndex(itemRepository).search(secondUser.getId(), "ITEM", pageable);
+
+        assertThat(result, hasSize(1));
+        assertThat(result, hasItem(firstItem));
+        assertThat(result, not(hasItem(secondItem)));
+        assertThat(result, not(hasItem(anotherItem)));
+    }
+
+    @Test
+    void findSlice_whenMoreItemsThanPage_thenReturnedSliceWithNext() {
+        Slice<Item> result = itemRepository.findSlice(QItem.item.owner.id.eq(firstUser.getId()),
+                PageRequest.of(0, 1, Sort.by("id")));
+
+        assertThat(result.getContent(), contains(firstItem));
+        assertThat(result.hasNext(), equalTo(true));
+    }
+
+    @Test
+    void findSlice_whenLastPage_thenReturnedSliceWithoutNext() {
+        Slice<Item> result = itemRepository.findSlice(QItem.item.owner.id.eq(firstUser.getId()),
+                PageRequest.of(1, 1, Sort.by("id")));
+
+        assertThat(result.getContent(), contains(secondItem));
+        assertThat(result.hasNext(), equalTo(false));
+    }
+
+    @Test
+    void findIdsByRequestorId_whenItemsCreatedOnUserRequests_thenReturnedOnlyThoseIds() {
+        ItemRequest request = requestRepository.save(ItemRequest.builder()
+                .description("specification request secondUser")
+                .requestor(secondUser)
+                .created(LocalDateTime.now())
+                .build()
+        );
+        Item requestedItem = itemRepository.save(Item.builder()
+                .name("Requested item")
+                .description("specification requested item")
+                .available(true)
+                .owner(firstUser)
+                .request(request)
+                .comments(Collections.emptyList())
+                .build()
+        );
+
+        assertThat(itemRepository.findIdsByRequestorId(secondUser.getId()), contains(requestedItem.getId()));
+        assertThat(itemRepository.findIdsByRequestorId(firstUser.getId()), empty());
+    }
 }
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemInputDto;
+import ru.practicum.shareit.item.dto.ItemSummary;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.config.CacheConfig.ITEMS_CACHE;
+import static ru.practicum.shareit.config.CacheConfig.USERS_CACHE;
+
+@SpringJUnitConfig
+class ItemServiceCacheTest {
+    @Autowired
+    private ItemService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private ItemRepository itemRepository;
+
+    @MockBean
+    private CommentRepository commentRepository;
+
+    @MockBean
+    private BookingRepository bookingRepository;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private ItemRequestService requestService;
+
+    @MockBean
+    private ItemSearchIndex searchIndex;
+
+    @MockBean
+    private BookingAvailabilityIndex availabilityIndex;
+
+    private final User owner = User.builder()
+            .id(1L)
+            .name("TestName")
+            .email("test@box.com")
+            .build();
+
+    private final Item item = Item.builder()
+            .id(1L)
+            .name("TestItem")
+            .description("TestDescription")
+            .available(true)
+            .owner(owner)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void findSummaryOrThrow_whenCalledTwice_thenItemLoadedOnce() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        ItemSummary first = service.findSummaryOrThrow(item.getId());
+        ItemSummary second = service.findSummaryOrThrow(item.getId());
+
+        assertThat(second, sameInstance(first));
+        assertThat(first, equalTo(new ItemSummary(1L, "TestItem", "TestDescription", true, 1L, null)));
+        verify(itemRepository, times(1)).findById(item.getId());
+    }
+
+    @Test
+    void findSummaryOrThrow_whenItemNotFound_thenNotCached() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.findSummaryOrThrow(item.getId()));
+        assertThrows(NotFoundException.class, () -> service.findSummaryOrThrow(item.getId()));
+
+        assertThat(cacheManager.getCache(ITEMS_CACHE).get(item.getId()), nullValue());
+        verify(itemRepository, times(2)).findById(item.getId());
+    }
+
+    @Test
+    void update_whenItemCached_thenCacheEvicted() {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        service.findSummaryOrThrow(item.getId());
+
+        service.update(item.getId(), owner.getId(), ItemInputDto.builder().name("UpdatedItem").build());
+
+        assertThat(cacheManager.getCache(ITEMS_CACHE).get(item.getId()), nullValue());
+        service.findSummaryOrThrow(item.getId());
+        verify(itemRepository, times(3)).findById(item.getId());
+    }
+
+    @TestConfiguration
+    @Import({ItemServiceImpl.class, CacheConfig.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(USERS_CACHE, ITEMS_CACHE);
+        }
+    }
+}
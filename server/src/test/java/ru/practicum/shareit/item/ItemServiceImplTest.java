@@ -1,20 +1,25 @@
 package ru.practicum.shareit.item;
 
-import com.querydsl.core.types.dsl.BooleanExpression;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.availability.TimeWindow;
+import ru.practicum.shareit.booking.dto.ItemNearestBookings;
 import ru.practicum.shareit.booking.entity.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.AccessDeniedException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
@@ -24,7 +29,10 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.entity.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.entity.User;
@@ -59,6 +67,12 @@ class ItemServiceImplTest {
     @Mock
     private ItemRequestServiceImpl requestService;
 
+    @Mock
+    private ItemSearchIndex searchIndex;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
     @InjectMocks
     private ItemServiceImpl service;
 
@@ -119,6 +133,7 @@ class ItemServiceImplTest {
         verify(userService, times(1)).findUserOrThrow(anyLong());
         verify(requestService, times(1)).findItemRequestOrThrow(anyLong());
         verify(itemRepository).save(any(Item.class));
+        verify(searchIndex).index(item);
     }
 
     @Test
@@ -156,6 +171,19 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findById(anyLong());
     }
 
+    @Test
+    void update_whenItemModifiedConcurrently_thenConflictExceptionThrown() {
+        ItemInputDto dto = ItemInputDto.builder()
+                .available(false)
+                .build();
+        when(itemRepository.findById(someItem.getId())).thenReturn(Optional.of(someItem));
+        when(itemRepository.saveAndFlush(someItem))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, someItem.getId()));
+
+        assertThrows(ConflictException.class, () -> service.update(someItem.getId(), someUser.getId(), dto));
+        verify(searchIndex, never()).index(any(Item.class));
+    }
+
     @Test
     void update_whenUserNotOwner_thenAccessDeniedExceptionThrown() {
         Long itemId = someItem.getId();
@@ -194,8 +222,10 @@ class ItemServiceImplTest {
                 .status(BookingStatus.APPROVED)
                 .build();
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(someItem));
-        when(bookingRepository.findNearestBooking(itemId, false)).thenReturn(Optional.of(firstBooking));
-        when(bookingRepository.findNearestBooking(itemId, true)).thenReturn(Optional.of(secondBooking));
+        when(bookingRepository.findLastBookingStart(eq(itemId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(firstBooking.getStart()));
+        when(bookingRepository.findNextBookingStart(eq(itemId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(secondBooking.getStart()));
 
         ItemResponseDetailsDto responseDetailsDto = service.getById(itemId, userId);
 
@@ -204,7 +234,8 @@ class ItemServiceImplTest {
         assertThat(responseDetailsDto.getLastBooking(), equalTo(firstBooking.getStart()));
         assertThat(responseDetailsDto.getNextBooking(), equalTo(secondBooking.getStart()));
         verify(itemRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(2)).findNearestBooking(anyLong(), anyBoolean());
+        verify(bookingRepository, times(1)).findLastBookingStart(anyLong(), any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).findNextBookingStart(anyLong(), any(LocalDateTime.class));
     }
 
     @Test
@@ -217,6 +248,33 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findById(anyLong());
     }
 
+    @Test
+    void getAvailability_whenItemFound_thenReturnedBusyAndFreeWindows() {
+        Long itemId = 1L;
+        LocalDateTime from = LocalDateTime.of(2025, 8, 1, 0, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        TimeWindow busy = new TimeWindow(from.plusHours(8), from.plusHours(12));
+        List<TimeWindow> free = List.of(new TimeWindow(from, from.plusHours(8)), new TimeWindow(from.plusHours(12), to));
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(someItem));
+        when(availabilityIndex.findBusyWindows(itemId, from, to)).thenReturn(List.of(busy));
+        when(availabilityIndex.findFreeWindows(itemId, from, to)).thenReturn(free);
+
+        ItemAvailabilityDto result = service.getAvailability(itemId, from, to);
+
+        assertThat(result.getItemId(), is(itemId));
+        assertThat(result.getBusy(), contains(busy));
+        assertThat(result.getFree(), is(free));
+    }
+
+    @Test
+    void getAvailability_whenRangeIncorrect_thenValidationExceptionThrown() {
+        LocalDateTime from = LocalDateTime.of(2025, 8, 1, 0, 0, 0);
+
+        assertThrows(ValidationException.class, () -> service.getAvailability(1L, from, from));
+        assertThrows(ValidationException.class, () -> service.getAvailability(1L, from, from.plusYears(2)));
+        verify(availabilityIndex, never()).findFreeWindows(anyLong(), any(), any());
+    }
+
     @Test
     void getAllById_whenItemsFound_thenReturnedCollectionItems() {
         long userId = 1L;
@@ -231,32 +289,68 @@ class ItemServiceImplTest {
                 .build();
         Pageable pageable = PageRequest.of(0, 10);
         List<Item> requests = List.of(someItem, anotherItem);
-        Page<Item> page = new PageImpl<>(requests, pageable, requests.size());
-        when(userService.findUserOrThrow(userId)).thenReturn(someUser);
+        Slice<Item> page = new SliceImpl<>(requests, pageable, false);
+        LocalDateTime last = LocalDateTime.now().minusDays(2);
+        LocalDateTime next = LocalDateTime.now().plusDays(1);
+        ItemNearestBookings nearest = new ItemNearestBookings() {
+            @Override
+            public Long getItemId() {
+                return someItem.getId();
+            }
+
+            @Override
+            public LocalDateTime getLastBooking() {
+                return last;
+            }
+
+            @Override
+            public LocalDateTime getNextBooking() {
+                return next;
+            }
+        };
+        Comment comment = CommentMapper.toEntity(new CommentInputDto("test comment"), anotherItem, anotherUser);
         when(itemRepository.findAllByOwner_Id(userId, pageable)).thenReturn(page);
+        when(bookingRepository.findNearestBookings(eq(List.of(1L, 2L)), any(LocalDateTime.class)))
+                .thenReturn(List.of(nearest));
+        when(commentRepository.findAllByItem_IdIn(List.of(1L, 2L))).thenReturn(List.of(comment));
 
-        List<ItemResponseDto> response = service.getAllById(userId, 0, 10);
+        List<ItemResponseDetailsDto> response = service.getAllById(userId, 0, 10);
 
         assertThat(response, hasSize(2));
-        assertThat(response, hasItem(ItemMapper.toDto(someItem)));
-        assertThat(response, hasItem(ItemMapper.toDto(anotherItem)));
-        verify(userService, times(1)).findUserOrThrow(anyLong());
+        assertThat(response.getFirst(), equalTo(ItemMapper.toDetailsDto(someItem, last, next)));
+        assertThat(response.getLast(), equalTo(ItemMapper.toDetailsDto(anotherItem, null, null, List.of(comment))));
+        verify(userService, times(1)).requireExists(anyLong());
         verify(itemRepository, times(1)).findAllByOwner_Id(anyLong(), any());
+        verify(bookingRepository, times(1)).findNearestBookings(anyCollection(), any(LocalDateTime.class));
+        verify(commentRepository, times(1)).findAllByItem_IdIn(anyCollection());
     }
 
     @Test
     void getAllById_whenNotItemsFound_thenReturnedEmptyList() {
         long userId = 2L;
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Item> page = new PageImpl<>(Collections.emptyList());
-        when(userService.findUserOrThrow(userId)).thenReturn(anotherUser);
+        Slice<Item> page = new SliceImpl<>(Collections.emptyList());
         when(itemRepository.findAllByOwner_Id(userId, pageable)).thenReturn(page);
 
-        List<ItemResponseDto> response = service.getAllById(userId, 0, 10);
+        List<ItemResponseDetailsDto> response = service.getAllById(userId, 0, 10);
 
         assertThat(response, empty());
-        verify(userService, times(1)).findUserOrThrow(anyLong());
+        verify(userService, times(1)).requireExists(anyLong());
         verify(itemRepository, times(1)).findAllByOwner_Id(anyLong(), any());
+        verify(bookingRepository, never()).findNearestBookings(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void getAllById_whenCursorPassed_thenSeekAfterCursorId() {
+        long userId = 2L;
+        when(itemRepository.findAllByOwner_IdAndIdGreaterThanOrderByIdAsc(userId, 5L, Limit.of(11)))
+                .thenReturn(Collections.emptyList());
+
+        CursorPage<ItemResponseDetailsDto> response = service.getAllById(userId, new Cursor(null, 5L), 10);
+
+        assertThat(response.content(), empty());
+        assertThat(response.next(), nullValue());
+        verify(bookingRepository, never()).findNearestBookings(anyCollection(), any(LocalDateTime.class));
     }
 
     @Test
@@ -281,9 +375,7 @@ class ItemServiceImplTest {
                 .comments(Collections.emptyList())
                 .build();
         Pageable pageable = PageRequest.of(0, 10);
-        List<Item> requests = List.of(someItem, anotherItem);
-        Page<Item> page = new PageImpl<>(requests, pageable, requests.size());
-        when(itemRepository.findAll(any(BooleanExpression.class), eq(pageable))).thenReturn(page);
+        when(searchIndex.search(userId, "spec", pageable)).thenReturn(List.of(someItem, anotherItem));
 
         List<ItemResponseDto> response = service.search(userId, "spec", 0, 10);
 
@@ -291,7 +383,7 @@ class ItemServiceImplTest {
         assertThat(response, hasItem(ItemMapper.toDto(someItem)));
         assertThat(response, hasItem(ItemMapper.toDto(anotherItem)));
         assertThat(response, not(hasItem(ItemMapper.toDto(wrongItem))));
-        verify(itemRepository, times(1)).findAll(any(BooleanExpression.class), any(Pageable.class));
+        verify(searchIndex, times(1)).search(anyLong(), anyString(), any(Pageable.class));
     }
 
     @Test
@@ -299,20 +391,19 @@ class ItemServiceImplTest {
         List<ItemResponseDto> response = service.search(1L, " ", 0, 10);
 
         assertThat(response, empty());
-        verify(itemRepository, never()).findAll(any(BooleanExpression.class), any(Pageable.class));
+        verify(searchIndex, never()).search(anyLong(), anyString(), any(Pageable.class));
     }
 
     @Test
     void search_whenTextNoContained_thenReturnedEmptyList() {
         long userId = 1L;
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Item> page = new PageImpl<>(Collections.emptyList());
-        when(itemRepository.findAll(any(BooleanExpression.class), eq(pageable))).thenReturn(page);
+        when(searchIndex.search(userId, "test", pageable)).thenReturn(Collections.emptyList());
 
         List<ItemResponseDto> response = service.search(userId, "test", 0, 10);
 
         assertThat(response, empty());
-        verify(itemRepository, times(1)).findAll(any(BooleanExpression.class), any(Pageable.class));
+        verify(searchIndex, times(1)).search(anyLong(), anyString(), any(Pageable.class));
     }
 
     @Test
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.request.entity.ItemRequest;
@@ -12,6 +13,7 @@ import ru.practicum.shareit.user.entity.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -33,6 +35,7 @@ class ItemRequestRepositoryTest {
 
     @BeforeEach
     void setUp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         firstUser = userRepository.save(User.builder()
                 .id(1L)
                 .name("First user")
@@ -49,25 +52,25 @@ class ItemRequestRepositoryTest {
         firstRequestFirstUser = requestRepository.save(ItemRequest.builder()
                 .description("specification first request firstUser")
                 .requestor(firstUser)
-                .created(LocalDateTime.now())
+                .created(now.minusMinutes(3))
                 .build()
         );
         firstRequestSecondUser = requestRepository.save(ItemRequest.builder()
                 .description("specification first request secondUser")
                 .requestor(secondUser)
-                .created(LocalDateTime.now())
+                .created(now.minusMinutes(2))
                 .build()
         );
         secondRequestFirstUser = requestRepository.save(ItemRequest.builder()
                 .description("specification second request firstUser")
                 .requestor(firstUser)
-                .created(LocalDateTime.now())
+                .created(now.minusMinutes(1))
                 .build()
         );
         secondRequestSecondUser = requestRepository.save(ItemRequest.builder()
                 .description("specification second request secondUser")
                 .requestor(secondUser)
-                .created(LocalDateTime.now())
+                .created(now)
                 .build()
         );
     }
@@ -95,4 +98,17 @@ class ItemRequestRepositoryTest {
         assertThat(result, not(hasItem(secondRequestFirstUser)));
         assertThat(result.getFirst(), is(secondRequestSecondUser));
     }
+
+    @Test
+    void findNextByRequestorId_whenCursorPassed_thenReturnedOlderRequests() {
+        List<ItemRequest> firstPage = requestRepository
+                .findAllByRequestorIdOrderByCreatedDescIdDesc(firstUser.getId(), Limit.of(1));
+        ItemRequest last = firstPage.getLast();
+
+        List<ItemRequest> result = requestRepository
+                .findNextByRequestorId(firstUser.getId(), last.getCreated(), last.getId(), Limit.of(10));
+
+        assertThat(firstPage, contains(secondRequestFirstUser));
+        assertThat(result, contains(firstRequestFirstUser));
+    }
 }
@@ -6,11 +6,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestInputDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDetailsDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
@@ -23,6 +28,7 @@ import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +43,9 @@ class ItemRequestServiceImplTest {
     @Mock
     private ItemRequestRepository requestRepository;
 
+    @Mock
+    private ItemRepository itemRepository;
+
     @Mock
     private UserServiceImpl userService;
 
@@ -113,10 +122,11 @@ class ItemRequestServiceImplTest {
     void getOwnItemRequests() {
         Pageable pageable = PageRequest.of(0, 10);
         List<ItemRequest> requests = List.of(secondRequestFirstUser, firstRequestFirstUser);
-        Page<ItemRequest> page = new PageImpl<>(requests, pageable, requests.size());
-        when(userService.findUserOrThrow(firstUser.getId())).thenReturn(firstUser);
+        Slice<ItemRequest> page = new SliceImpl<>(requests, pageable, false);
         when(requestRepository.findAllByRequestorIdOrderByCreatedDesc(firstUser.getId(), pageable))
                 .thenReturn(page);
+        when(itemRepository.findAllByRequest_IdIn(List.of(secondRequestFirstUser.getId(), firstRequestFirstUser.getId())))
+                .thenReturn(Collections.emptyList());
 
         List<ItemRequestResponseDetailsDto> response = service.getOwnItemRequests(firstUser.getId(), 0, 10);
 
@@ -127,14 +137,15 @@ class ItemRequestServiceImplTest {
         assertThat(response.getFirst().getItems(), is(secondRequestFirstUser.getItems()));
         verify(requestRepository, times(1))
                 .findAllByRequestorIdOrderByCreatedDesc(anyLong(), any());
+        verify(userService, times(1)).requireExists(anyLong());
+        verify(itemRepository, times(1)).findAllByRequest_IdIn(anyCollection());
     }
 
     @Test
     void getOthersItemRequests() {
         Pageable pageable = PageRequest.of(0, 10);
         List<ItemRequest> requests = List.of(secondRequestSecondUser, firstRequestSecondUser);
-        Page<ItemRequest> page = new PageImpl<>(requests, pageable, requests.size());
-        when(userService.findUserOrThrow(firstUser.getId())).thenReturn(firstUser);
+        Slice<ItemRequest> page = new SliceImpl<>(requests, pageable, false);
         when(requestRepository.findAllByRequestorIdNotOrderByCreatedDesc(firstUser.getId(), pageable))
                 .thenReturn(page);
 
@@ -148,6 +159,30 @@ class ItemRequestServiceImplTest {
                 .findAllByRequestorIdNotOrderByCreatedDesc(anyLong(), any());
     }
 
+    @Test
+    void getOthersItemRequests_whenCursorPassed_thenSeekAfterCursor() {
+        Cursor cursor = new Cursor(secondRequestSecondUser.getCreated(), secondRequestSecondUser.getId());
+        when(requestRepository.findNextByRequestorIdNot(firstUser.getId(), cursor.position(), cursor.id(), Limit.of(2)))
+                .thenReturn(List.of(firstRequestSecondUser));
+
+        CursorPage<ItemRequestResponseDto> response = service.getOthersItemRequests(firstUser.getId(), cursor, 1);
+
+        assertThat(response.content(), contains(ItemRequestMapper.toDto(firstRequestSecondUser)));
+        assertThat(response.next(), nullValue());
+    }
+
+    @Test
+    void getOthersItemRequests_whenCursorPageSizeZero_thenValidationExceptionThrown() {
+        assertThrows(ValidationException.class, () -> service.getOthersItemRequests(firstUser.getId(), null, 0));
+        verify(requestRepository, never()).findAllByRequestorIdNotOrderByCreatedDescIdDesc(anyLong(), any());
+    }
+
+    @Test
+    void getOwnItemRequests_whenCursorPageSizeNegative_thenValidationExceptionThrown() {
+        assertThrows(ValidationException.class, () -> service.getOwnItemRequests(firstUser.getId(), null, -1));
+        verify(requestRepository, never()).findAllByRequestorIdOrderByCreatedDescIdDesc(anyLong(), any());
+    }
+
     @Test
     void getById_whenRequestFound_thenReturnedRequest() {
         when(requestRepository.findById(firstRequestSecondUser.getId()))
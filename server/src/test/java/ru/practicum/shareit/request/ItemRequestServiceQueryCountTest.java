@@ -0,0 +1,103 @@
+package ru.practicum.shareit.request;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.entity.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDetailsDto;
+import ru.practicum.shareit.request.entity.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+@DataJpaTest
+@Import(ItemRequestServiceImpl.class)
+class ItemRequestServiceQueryCountTest {
+    @Autowired
+    private ItemRequestService service;
+
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private UserService userService;
+
+    private User requestor;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        requestor = userRepository.save(User.builder()
+                .name("Requestor")
+                .email("requestormail@box.com")
+                .build()
+        );
+        User owner = userRepository.save(User.builder()
+                .name("Owner")
+                .email("ownermail@box.com")
+                .build()
+        );
+        for (int r = 0; r < 2; r++) {
+            ItemRequest request = requestRepository.save(ItemRequest.builder()
+                    .description("specification request " + r)
+                    .requestor(requestor)
+                    .created(now.minusMinutes(r))
+                    .build()
+            );
+            for (int i = 0; i < 3; i++) {
+                itemRepository.save(Item.builder()
+                        .name("Item " + i)
+                        .description("specification item " + i)
+                        .available(true)
+                        .owner(owner)
+                        .request(request)
+                        .build()
+                );
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getOwnItemRequests_whenRequestsHaveItems_thenItemsLoadedInSingleQuery() {
+        List<ItemRequestResponseDetailsDto> result = service.getOwnItemRequests(requestor.getId(), 0, 10);
+
+        assertThat(result, hasSize(2));
+        assertThat(result.getFirst().getItems(), hasSize(3));
+        assertThat(result.getLast().getItems(), hasSize(3));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.dto.UserInputDto;
+import ru.practicum.shareit.user.dto.UserSummary;
+import ru.practicum.shareit.user.entity.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.config.CacheConfig.ITEMS_CACHE;
+import static ru.practicum.shareit.config.CacheConfig.USERS_CACHE;
+
+@SpringJUnitConfig
+class UserServiceCacheTest {
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private UserRepository repository;
+
+    @MockBean
+    private ItemSearchIndex searchIndex;
+
+    @MockBean
+    private BookingAvailabilityIndex availabilityIndex;
+
+    private final User user = User.builder()
+            .id(1L)
+            .name("TestName")
+            .email("test@box.com")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void findSummaryOrThrow_whenCalledTwice_thenUserLoadedOnce() {
+        when(repository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        UserSummary first = service.findSummaryOrThrow(user.getId());
+        UserSummary second = service.findSummaryOrThrow(user.getId());
+
+        assertThat(second, sameInstance(first));
+        assertThat(first, equalTo(new UserSummary(1L, "TestName", "test@box.com")));
+        verify(repository, times(1)).findById(user.getId());
+    }
+
+    @Test
+    void findUserOrThrow_whenCalledTwice_thenEntityNotCached() {
+        when(repository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        service.findUserOrThrow(user.getId());
+        service.findUserOrThrow(user.getId());
+
+        assertThat(cacheManager.getCache(USERS_CACHE).get(user.getId()), nullValue());
+        verify(repository, times(2)).findById(user.getId());
+    }
+
+    @Test
+    void update_whenUserCached_thenCacheEvicted() {
+        when(repository.findById(user.getId())).thenReturn(Optional.of(user));
+        service.findSummaryOrThrow(user.getId());
+
+        service.update(user.getId(), UserInputDto.builder().name("UpdatedName").build());
+
+        assertThat(cacheManager.getCache(USERS_CACHE).get(user.getId()), nullValue());
+        service.findSummaryOrThrow(user.getId());
+        verify(repository, times(3)).findById(user.getId());
+    }
+
+    @Test
+    void delete_whenUserCached_thenCacheEvicted() {
+        when(repository.findById(user.getId())).thenReturn(Optional.of(user));
+        service.findSummaryOrThrow(user.getId());
+
+        service.delete(user.getId());
+
+        assertThat(cacheManager.getCache(USERS_CACHE).get(user.getId()), nullValue());
+        verify(repository).delete(user);
+        verify(searchIndex).unindexOwner(user.getId());
+    }
+
+    @TestConfiguration
+    @Import({UserServiceImpl.class, CacheConfig.class})
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(USERS_CACHE, ITEMS_CACHE);
+        }
+    }
+}
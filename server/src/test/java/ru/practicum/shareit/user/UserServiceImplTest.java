@@ -6,8 +6,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserInputDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.entity.User;
@@ -29,6 +31,12 @@ class UserServiceImplTest {
     @Mock
     private UserRepository repository;
 
+    @Mock
+    private ItemSearchIndex searchIndex;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
     @InjectMocks
     private UserServiceImpl service;
 
@@ -148,7 +156,9 @@ class UserServiceImplTest {
         service.delete(userId);
 
         verify(repository).findById(userId);
+        verify(availabilityIndex).evictUser(userId);
         verify(repository).delete(entity);
+        verify(searchIndex).unindexOwner(userId);
     }
 
     @Test
@@ -160,4 +170,23 @@ class UserServiceImplTest {
         verify(repository).findById(userId);
         verify(repository, never()).delete(any(User.class));
     }
+
+    @Test
+    void requireExists_whenUserFound_thenUserNotLoaded() {
+        long userId = 1L;
+        when(repository.existsById(userId)).thenReturn(true);
+
+        service.requireExists(userId);
+
+        verify(repository).existsById(userId);
+        verify(repository, never()).findById(anyLong());
+    }
+
+    @Test
+    void requireExists_whenUserNotFound_thenNotFoundExceptionThrown() {
+        long userId = 1L;
+        when(repository.existsById(userId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> service.requireExists(userId));
+    }
 }